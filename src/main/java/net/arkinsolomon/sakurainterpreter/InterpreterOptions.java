@@ -16,6 +16,7 @@
 package net.arkinsolomon.sakurainterpreter;
 
 import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionConfig;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.functions.Function;
 import net.arkinsolomon.sakurainterpreter.operations.OperationConfig;
@@ -34,6 +35,7 @@ import java.util.Set;
 public class InterpreterOptions {
 
     final OperationConfig operationConfig = new OperationConfig();
+    final ExecutionConfig executionConfig = new ExecutionConfig();
     String executor;
     private final Set<File> allowRead = new HashSet<>();
     private final Set<File> disallowRead = new HashSet<>();
@@ -77,6 +79,87 @@ public class InterpreterOptions {
         this.root = root;
     }
 
+    /**
+     * Set the amount of times a function must be called before it is promoted to the optimized tier. Loops within a promoted function skip their own warm-up.
+     *
+     * @param threshold The amount of calls before promotion, or zero to promote every function immediately.
+     */
+    public void setFunctionTierThreshold(int threshold) {
+        executionConfig.setFunctionTierThreshold(threshold);
+    }
+
+    /**
+     * Set the amount of iterations a loop must run before it is promoted to the optimized tier. A loop which crosses this threshold switches tiers mid-execution.
+     *
+     * @param threshold The amount of iterations before promotion, or zero to promote every loop immediately.
+     */
+    public void setLoopTierThreshold(int threshold) {
+        executionConfig.setLoopTierThreshold(threshold);
+    }
+
+    /**
+     * Set the size of the stack used to execute scripts. When set, scripts are executed on a dedicated thread with this stack size, so that deep recursion is limited by memory instead of the default thread stack.
+     *
+     * @param stackSize The stack size in bytes, or zero to execute scripts on the calling thread.
+     */
+    public void setStackSize(long stackSize) {
+        executionConfig.setStackSize(stackSize);
+    }
+
+    /**
+     * Set the maximum depth of nested function calls. Exceeding it throws a {@link net.arkinsolomon.sakurainterpreter.exceptions.SakuraException} containing the Sakura callstack.
+     *
+     * @param maxCallDepth The maximum depth of nested function calls, or zero for no limit.
+     */
+    public void setMaxCallDepth(int maxCallDepth) {
+        executionConfig.setMaxCallDepth(maxCallDepth);
+    }
+
+    /**
+     * Set if the "&" and "|" operators should short-circuit, so that the right operand is not evaluated when the left operand determines the result. This is disabled by default, since the right operand of scripts written for earlier versions may have side effects, or be checked for type errors, every time.
+     *
+     * @param shortCircuit True if boolean operators should short-circuit.
+     */
+    public void setShortCircuit(boolean shortCircuit) {
+        executionConfig.setShortCircuit(shortCircuit);
+    }
+
+    /**
+     * Set the capacity at which lists of numbers are stored outside the Java heap. Numeric lists are stored unboxed, and once one grows to this many elements, its storage is moved into a direct buffer so that very large series do not add to garbage collection pressure. This is disabled by default.
+     *
+     * @param offHeapListThreshold The capacity at which numeric lists are moved off-heap, or zero to always keep them on the heap.
+     */
+    public void setOffHeapListThreshold(int offHeapListThreshold) {
+        executionConfig.setOffHeapListThreshold(offHeapListThreshold);
+    }
+
+    /**
+     * Set the amount of elements at which built-in functions, like "sum()" and "sort()", process lists of numbers in parallel using the common fork-join pool. Callbacks passed from scripts are always called sequentially. This is disabled by default.
+     *
+     * @param parallelThreshold The amount of elements at which lists are processed in parallel, or zero to always process them sequentially.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        executionConfig.setParallelThreshold(parallelThreshold);
+    }
+
+    /**
+     * Set if the results of pure functions should be memoized. A function is pure if it does not use file commands, calls only pure functions, and reads only its own arguments, local variables, and constants.
+     *
+     * @param memoization True if the results of pure functions should be memoized.
+     */
+    public void setMemoization(boolean memoization) {
+        executionConfig.setMemoization(memoization);
+    }
+
+    /**
+     * Set the maximum amount of memoized results kept per execution.
+     *
+     * @param memoCacheSize The maximum amount of memoized results.
+     */
+    public void setMemoCacheSize(int memoCacheSize) {
+        executionConfig.setMemoCacheSize(memoCacheSize);
+    }
+
     /**
      * Get the operation config set by this interpreter.
      *
@@ -110,7 +193,7 @@ public class InterpreterOptions {
      * @param value      The value of the variable.
      */
     public void defineEnvVar(String identifier, String value) {
-        envVariables.put("@" + identifier, new Value(DataType.STRING, value, false));
+        envVariables.put("@" + identifier, Value.ofString(value));
     }
 
     /**
@@ -120,7 +203,7 @@ public class InterpreterOptions {
      * @param value      The value of the number.
      */
     public void defineEnvVar(String identifier, double value) {
-        envVariables.put("@" + identifier, new Value(DataType.NUMBER, value, false));
+        envVariables.put("@" + identifier, Value.ofNumber(value));
     }
 
     /**
@@ -130,7 +213,7 @@ public class InterpreterOptions {
      * @param value      The value of the path.
      */
     public void defineEnvVar(String identifier, File value) {
-        envVariables.put("@" + identifier, new Value(DataType.PATH, value, false));
+        envVariables.put("@" + identifier, new Value(DataType.PATH, value));
     }
 
     /**
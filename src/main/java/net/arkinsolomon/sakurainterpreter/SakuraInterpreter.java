@@ -19,6 +19,7 @@ import net.arkinsolomon.sakurainterpreter.exceptions.ExitException;
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
 import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionStatistics;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Lexer;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
@@ -44,6 +45,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * An interpreter to interpret Sakura.
@@ -54,6 +56,7 @@ public class SakuraInterpreter {
     public static final String INTERPRETER_VERSION = "1.2.0";
 
     private final InterpreterOptions options;
+    private ExecutionStatistics statistics;
 
     /**
      * Create a new interpreter instance with no configuration.
@@ -240,6 +243,15 @@ public class SakuraInterpreter {
         return opts;
     }
 
+    /**
+     * Get the statistics of the most recent execution.
+     *
+     * @return The statistics of the most recent execution, or null if nothing has been executed.
+     */
+    public ExecutionStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Execute a file.
      *
@@ -278,7 +290,46 @@ public class SakuraInterpreter {
      * @return The result of the analyzed tokens after execution.
      */
     private Value execLexer(Lexer lexer) {
+        long stackSize = options.executionConfig.getStackSize();
+        if (stackSize == 0)
+            return execLexerOnCurrentThread(lexer);
+
+        var result = new AtomicReference<Value>();
+        var thrown = new AtomicReference<Throwable>();
+        var thread = new Thread(null, () -> {
+            try {
+                result.set(execLexerOnCurrentThread(lexer));
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        }, "sakura-executor", stackSize);
+
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for execution to finish", e);
+        }
+
+        Throwable e = thrown.get();
+        if (e instanceof RuntimeException)
+            throw (RuntimeException) e;
+        else if (e instanceof Error)
+            throw (Error) e;
+        return result.get();
+    }
+
+    /**
+     * Execute the result of a lexical analysis on the current thread.
+     *
+     * @param lexer The lexer that performed the analysis.
+     * @return The result of the analyzed tokens after execution.
+     */
+    private Value execLexerOnCurrentThread(Lexer lexer) {
         ExecutionContext ctx = createContext();
+        statistics = ctx.getStatistics();
         try {
             List<Token> tokens = lexer.analyze();
             var tokenStorage = new TokenStorage(tokens);
@@ -286,7 +337,10 @@ public class SakuraInterpreter {
             var parser = new Parser(tokenStorage);
             parser.parse(true, true);
 
-            return parser.execute(ctx).returnValue();
+            return parser.execute(ctx);
+        } catch (StackOverflowError e) {
+            ctx.getFileTracker().undoOperations();
+            throw new SakuraException("Stack overflow, consider increasing the stack size of the interpreter.", e);
         } catch (Throwable e) {
             if (!(e instanceof ExitException) || ((ExitException) e).getCode() != 0) {
                 ctx.getFileTracker().undoOperations();
@@ -304,9 +358,9 @@ public class SakuraInterpreter {
      */
     private ExecutionContext createContext() {
         Map<String, Value> envVars = options.envVariables;
-        envVars.put("@__executor", new Value(DataType.STRING, options.executor, false));
+        envVars.put("@__executor", Value.ofString(options.executor));
 
         options.updateRestrictions();
-        return new ExecutionContext(envVars, options.functions, options.root, options.operationConfig);
+        return new ExecutionContext(envVars, options.functions, options.root, options.operationConfig, options.executionConfig);
     }
 }
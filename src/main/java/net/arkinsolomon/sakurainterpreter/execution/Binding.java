@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * The binding of an identifier to a value, which determines if the identifier can be reassigned.
+ */
+final class Binding {
+
+    private Value value;
+    private final boolean isMutable;
+
+    /**
+     * Create a new binding.
+     *
+     * @param value     The initial value of the binding.
+     * @param isMutable True if the binding can be reassigned.
+     */
+    Binding(Value value, boolean isMutable) {
+        this.value = value;
+        this.isMutable = isMutable;
+    }
+
+    /**
+     * Get the value currently bound.
+     *
+     * @return The value currently bound.
+     */
+    Value getValue() {
+        return value;
+    }
+
+    /**
+     * Change the value that is bound, without checking if the binding is mutable.
+     *
+     * @param value The new value of the binding.
+     */
+    void setValue(Value value) {
+        this.value = value;
+    }
+
+    /**
+     * Check if the binding can be reassigned.
+     *
+     * @return True if the binding can be reassigned.
+     */
+    boolean isMutable() {
+        return isMutable;
+    }
+}
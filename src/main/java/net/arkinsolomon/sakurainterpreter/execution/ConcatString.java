@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import com.google.errorprone.annotations.Var;
+
+/**
+ * A string built by repeated concatenation. Every concatenated string shares a single builder, and holds the length of the prefix of the builder that it represents. Appending to the newest string extends the builder in place, so building a string in a loop is amortized linear instead of quadratic. Appending to an older string copies its prefix into a new builder. The string is only flattened when it is first read.
+ */
+final class ConcatString {
+
+    private final StringBuilder builder;
+    private final int length;
+    private String flattened;
+
+    /**
+     * Create a new concatenated string from a prefix of a builder.
+     *
+     * @param builder The builder holding the characters of the string.
+     * @param length  The length of the prefix of the builder which this string represents.
+     */
+    private ConcatString(StringBuilder builder, int length) {
+        this.builder = builder;
+        this.length = length;
+    }
+
+    /**
+     * Concatenate two strings.
+     *
+     * @param lhs The first string.
+     * @param rhs The string to append to the first one.
+     * @return The concatenated string.
+     */
+    static ConcatString of(String lhs, String rhs) {
+        var builder = new StringBuilder(Math.max(16, (lhs.length() + rhs.length()) * 2));
+        builder.append(lhs).append(rhs);
+        return new ConcatString(builder, builder.length());
+    }
+
+    /**
+     * Append a string to this one.
+     *
+     * @param suffix The string to append.
+     * @return A new string consisting of this string followed by the suffix.
+     */
+    ConcatString append(String suffix) {
+        synchronized (builder) {
+
+            // Only the newest string sharing the builder may append in place, since older strings are prefixes of it
+            if (builder.length() == length) {
+                builder.append(suffix);
+                return new ConcatString(builder, builder.length());
+            }
+
+            var copy = new StringBuilder(Math.max(16, (length + suffix.length()) * 2));
+            copy.append(builder, 0, length).append(suffix);
+            return new ConcatString(copy, copy.length());
+        }
+    }
+
+    /**
+     * Get the length of this string without flattening it.
+     *
+     * @return The length of this string.
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Flatten this string, caching the result.
+     *
+     * @return The contents of this string.
+     */
+    @Override
+    public String toString() {
+        @Var String str = flattened;
+        if (str == null) {
+            synchronized (builder) {
+                str = builder.substring(0, length);
+            }
+            flattened = str;
+        }
+        return str;
+    }
+}
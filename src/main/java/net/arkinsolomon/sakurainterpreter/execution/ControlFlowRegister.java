@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import net.arkinsolomon.sakurainterpreter.parser.EarlyReturnType;
+
+/**
+ * A single register which holds the control flow state of an execution. Return, break, and continue statements set the register, and the blocks, loops, and functions which contain them check it after every expression, so that blocks which complete normally do not need to allocate anything to report how they finished.
+ */
+public final class ControlFlowRegister {
+
+    private EarlyReturnType state = EarlyReturnType.NONE;
+    private Value returnValue = Value.NULL;
+    private TailCall tailCall;
+
+    /**
+     * Get the current state of the register.
+     *
+     * @return The type of the pending early return, or {@link EarlyReturnType#NONE} if execution should continue normally.
+     */
+    public EarlyReturnType getState() {
+        return state;
+    }
+
+    /**
+     * Check if there is an early return pending, meaning that the current block should stop executing.
+     *
+     * @return True if there is an early return pending.
+     */
+    public boolean isSet() {
+        return state != EarlyReturnType.NONE;
+    }
+
+    /**
+     * Signal that a return statement has been executed.
+     *
+     * @param returnValue The value that was returned.
+     */
+    public void setReturn(Value returnValue) {
+        state = EarlyReturnType.RETURN;
+        this.returnValue = returnValue;
+        tailCall = null;
+    }
+
+    /**
+     * Signal that a return statement has been executed, which returns the result of a call that the enclosing function should execute in its place.
+     *
+     * @param tailCall The call to execute.
+     */
+    public void setTailCall(TailCall tailCall) {
+        state = EarlyReturnType.RETURN;
+        returnValue = Value.NULL;
+        this.tailCall = tailCall;
+    }
+
+    /**
+     * Signal that a break or continue statement has been executed.
+     *
+     * @param type The type of the loop control statement, either {@link EarlyReturnType#BREAK} or {@link EarlyReturnType#CONTINUE}.
+     */
+    public void setLoopControl(EarlyReturnType type) {
+        if (type != EarlyReturnType.BREAK && type != EarlyReturnType.CONTINUE)
+            throw new IllegalArgumentException("Loop control must be a break or a continue");
+        state = type;
+        returnValue = Value.NULL;
+        tailCall = null;
+    }
+
+    /**
+     * Get the value of the pending return.
+     *
+     * @return The value that was returned, or {@link Value#NULL} if there is no return pending.
+     */
+    public Value getReturnValue() {
+        return returnValue;
+    }
+
+    /**
+     * Get the call that the enclosing function should execute in place of returning.
+     *
+     * @return The pending tail call, or null if there is none.
+     */
+    public TailCall getTailCall() {
+        return tailCall;
+    }
+
+    /**
+     * Reset the register once the early return has been handled.
+     */
+    public void clear() {
+        state = EarlyReturnType.NONE;
+        returnValue = Value.NULL;
+        tailCall = null;
+    }
+}
@@ -25,6 +25,6 @@ public enum DataType {
     NULL,
     FUNCTION,
     ITERABLE,
-    PATH,
-    __BRACE_RETURN
+    MAP,
+    PATH
 }
@@ -53,9 +53,9 @@ public class DirectoryIterable implements Iterable {
         if (current >= files.length)
             return null;
 
-        var returnVal = new Value(DataType.PATH, files[current], false);
+        var returnVal = new Value(DataType.PATH, files[current]);
         current++;
-        return returnVal.setMutability(false);
+        return returnVal;
     }
 
     @Override
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * An iterable which lazily pairs every value of another iterable with its index, producing a list of the index and the value each step.
+ */
+public final class EnumerateIterable implements Iterable {
+
+    private final Iterable source;
+    private int index = 0;
+
+    /**
+     * Create a new iterable which enumerates the values of another iterable.
+     *
+     * @param source The iterable to enumerate.
+     */
+    public EnumerateIterable(Iterable source) {
+        this.source = source;
+    }
+
+    @Override
+    public Value next() {
+        Value value = source.next();
+        if (value == null)
+            return null;
+
+        Value pair = new Value(DataType.ITERABLE, new ListIterable(new Value[]{Value.ofNumber(index), value}));
+        index++;
+        return pair;
+    }
+
+    @Override
+    public Iterable copy() {
+        return new EnumerateIterable(source.copy());
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * Configuration options for how scripts are executed.
+ */
+public final class ExecutionConfig {
+
+    private int functionTierThreshold = 1000;
+    private int loopTierThreshold = 1000;
+    private long stackSize = 0;
+    private int maxCallDepth = 0;
+    private boolean memoization = false;
+    private boolean shortCircuit = false;
+    private int memoCacheSize = 1024;
+    private int offHeapListThreshold = 0;
+    private int parallelThreshold = 0;
+
+    /**
+     * Get the amount of invocations after which a function is promoted to the optimized tier.
+     *
+     * @return The amount of invocations after which a function is promoted to the optimized tier.
+     */
+    public int getFunctionTierThreshold() {
+        return functionTierThreshold;
+    }
+
+    /**
+     * Set the amount of invocations after which a function is promoted to the optimized tier.
+     *
+     * @param functionTierThreshold The amount of invocations after which a function is promoted, or zero to promote immediately.
+     */
+    public void setFunctionTierThreshold(int functionTierThreshold) {
+        if (functionTierThreshold < 0)
+            throw new RuntimeException("The function tier threshold can not be negative");
+        this.functionTierThreshold = functionTierThreshold;
+    }
+
+    /**
+     * Get the amount of iterations after which a loop is promoted to the optimized tier.
+     *
+     * @return The amount of iterations after which a loop is promoted to the optimized tier.
+     */
+    public int getLoopTierThreshold() {
+        return loopTierThreshold;
+    }
+
+    /**
+     * Set the amount of iterations after which a loop is promoted to the optimized tier.
+     *
+     * @param loopTierThreshold The amount of iterations after which a loop is promoted, or zero to promote immediately.
+     */
+    public void setLoopTierThreshold(int loopTierThreshold) {
+        if (loopTierThreshold < 0)
+            throw new RuntimeException("The loop tier threshold can not be negative");
+        this.loopTierThreshold = loopTierThreshold;
+    }
+
+    /**
+     * Get the size of the stack of the thread that executes scripts.
+     *
+     * @return The stack size in bytes, or zero if scripts are executed on the calling thread.
+     */
+    public long getStackSize() {
+        return stackSize;
+    }
+
+    /**
+     * Set the size of the stack of the thread that executes scripts. A larger stack allows deeper recursion.
+     *
+     * @param stackSize The stack size in bytes, or zero to execute scripts on the calling thread.
+     */
+    public void setStackSize(long stackSize) {
+        if (stackSize < 0)
+            throw new RuntimeException("The stack size can not be negative");
+        this.stackSize = stackSize;
+    }
+
+    /**
+     * Get the maximum depth of nested function calls.
+     *
+     * @return The maximum depth of nested function calls, or zero if there is no limit.
+     */
+    public int getMaxCallDepth() {
+        return maxCallDepth;
+    }
+
+    /**
+     * Set the maximum depth of nested function calls, after which an exception is thrown. Tail calls do not count towards the depth.
+     *
+     * @param maxCallDepth The maximum depth of nested function calls, or zero for no limit.
+     */
+    public void setMaxCallDepth(int maxCallDepth) {
+        if (maxCallDepth < 0)
+            throw new RuntimeException("The max call depth can not be negative");
+        this.maxCallDepth = maxCallDepth;
+    }
+
+    /**
+     * Check if the results of pure functions are memoized.
+     *
+     * @return True if the results of pure functions are memoized.
+     */
+    public boolean isMemoizationEnabled() {
+        return memoization;
+    }
+
+    /**
+     * Set if the results of pure functions should be memoized.
+     *
+     * @param memoization True if the results of pure functions should be memoized.
+     */
+    public void setMemoization(boolean memoization) {
+        this.memoization = memoization;
+    }
+
+    /**
+     * Get the maximum amount of memoized results kept per execution.
+     *
+     * @return The maximum amount of memoized results.
+     */
+    public int getMemoCacheSize() {
+        return memoCacheSize;
+    }
+
+    /**
+     * Set the maximum amount of memoized results kept per execution, after which the least recently used results are evicted.
+     *
+     * @param memoCacheSize The maximum amount of memoized results.
+     */
+    public void setMemoCacheSize(int memoCacheSize) {
+        if (memoCacheSize <= 0)
+            throw new RuntimeException("The memo cache size must be positive");
+        this.memoCacheSize = memoCacheSize;
+    }
+
+    /**
+     * Check if the "&" and "|" operators skip their right operand when the left one determines the result.
+     *
+     * @return True if boolean operators short-circuit.
+     */
+    public boolean isShortCircuitEnabled() {
+        return shortCircuit;
+    }
+
+    /**
+     * Set if the "&" and "|" operators should skip their right operand when the left one determines the result.
+     *
+     * @param shortCircuit True if boolean operators should short-circuit.
+     */
+    public void setShortCircuit(boolean shortCircuit) {
+        this.shortCircuit = shortCircuit;
+    }
+
+    /**
+     * Get the capacity at which the storage of numeric lists is moved outside the Java heap.
+     *
+     * @return The capacity at which numeric lists are moved off-heap, or zero if they are always kept on the heap.
+     */
+    public int getOffHeapListThreshold() {
+        return offHeapListThreshold;
+    }
+
+    /**
+     * Set the capacity at which the storage of numeric lists is moved outside the Java heap.
+     *
+     * @param offHeapListThreshold The capacity at which numeric lists are moved off-heap, or zero to always keep them on the heap.
+     */
+    public void setOffHeapListThreshold(int offHeapListThreshold) {
+        if (offHeapListThreshold < 0)
+            throw new RuntimeException("The off-heap list threshold can not be negative");
+        this.offHeapListThreshold = offHeapListThreshold;
+    }
+
+    /**
+     * Get the amount of elements at which built-in functions process numeric lists in parallel.
+     *
+     * @return The amount of elements at which lists are processed in parallel, or zero if they are always processed sequentially.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Set the amount of elements at which built-in functions process numeric lists in parallel.
+     *
+     * @param parallelThreshold The amount of elements at which lists are processed in parallel, or zero to always process them sequentially.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0)
+            throw new RuntimeException("The parallel threshold can not be negative");
+        this.parallelThreshold = parallelThreshold;
+    }
+}
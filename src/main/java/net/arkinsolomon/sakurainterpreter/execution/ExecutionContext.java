@@ -18,19 +18,53 @@ package net.arkinsolomon.sakurainterpreter.execution;
 import com.google.errorprone.annotations.Var;
 import java.io.File;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import net.arkinsolomon.sakurainterpreter.SakuraInterpreter;
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.functions.AllFunction;
+import net.arkinsolomon.sakurainterpreter.functions.AnyFunction;
+import net.arkinsolomon.sakurainterpreter.functions.AppendFunction;
 import net.arkinsolomon.sakurainterpreter.functions.CanReadFunction;
 import net.arkinsolomon.sakurainterpreter.functions.CanWriteFunction;
+import net.arkinsolomon.sakurainterpreter.functions.ContainsFunction;
+import net.arkinsolomon.sakurainterpreter.functions.CountFunction;
+import net.arkinsolomon.sakurainterpreter.functions.DictFunction;
+import net.arkinsolomon.sakurainterpreter.functions.EnumerateFunction;
 import net.arkinsolomon.sakurainterpreter.functions.ExitFunction;
+import net.arkinsolomon.sakurainterpreter.functions.FilterFunction;
+import net.arkinsolomon.sakurainterpreter.functions.FindFunction;
+import net.arkinsolomon.sakurainterpreter.functions.FormatFunction;
 import net.arkinsolomon.sakurainterpreter.functions.Function;
+import net.arkinsolomon.sakurainterpreter.functions.GetFunction;
+import net.arkinsolomon.sakurainterpreter.functions.HasFunction;
+import net.arkinsolomon.sakurainterpreter.functions.IndexOfFunction;
+import net.arkinsolomon.sakurainterpreter.functions.KeysFunction;
+import net.arkinsolomon.sakurainterpreter.functions.LengthFunction;
 import net.arkinsolomon.sakurainterpreter.functions.ListFunction;
+import net.arkinsolomon.sakurainterpreter.functions.MapFunction;
+import net.arkinsolomon.sakurainterpreter.functions.MatchesFunction;
+import net.arkinsolomon.sakurainterpreter.functions.MaxFunction;
+import net.arkinsolomon.sakurainterpreter.functions.MinFunction;
 import net.arkinsolomon.sakurainterpreter.functions.PrintFunction;
 import net.arkinsolomon.sakurainterpreter.functions.RangeFunction;
+import net.arkinsolomon.sakurainterpreter.functions.ReadJsonFunction;
+import net.arkinsolomon.sakurainterpreter.functions.ReplaceAllFunction;
+import net.arkinsolomon.sakurainterpreter.functions.ReplaceFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SetFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SliceFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SortFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SplitFunction;
 import net.arkinsolomon.sakurainterpreter.functions.StrFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SubstringFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SumFunction;
+import net.arkinsolomon.sakurainterpreter.functions.TakeFunction;
+import net.arkinsolomon.sakurainterpreter.functions.TrimFunction;
 import net.arkinsolomon.sakurainterpreter.functions.TypeFunction;
+import net.arkinsolomon.sakurainterpreter.functions.WriteJsonFunction;
+import net.arkinsolomon.sakurainterpreter.functions.ZipFunction;
 import net.arkinsolomon.sakurainterpreter.operations.FileTracker;
 import net.arkinsolomon.sakurainterpreter.operations.OperationConfig;
 import net.arkinsolomon.sakurainterpreter.parser.Node;
@@ -41,14 +75,26 @@ import org.apache.commons.lang3.SystemUtils;
  */
 public class ExecutionContext {
 
-    // Map identifiers to values
-    private final Map<String, Value> identifiers = new HashMap<>();
+    // Map identifiers to their bindings
+    private final Map<String, Binding> identifiers = new HashMap<>();
+
+    // Built-in functions are looked up after the root context, so that scripts can define identifiers with the same name
+    private final Map<String, Value> builtIns;
+
+    // Identifiers which have been bound outside the root context to a function, or to anything in place of a root function
+    private final Set<String> shadowedFunctions;
 
     private final ExecutionContext rootContext;
     private ExecutionContext parent = null;
 
     private FileTracker fileTracker = new FileTracker();
     private final OperationConfig operationConfig;
+    private final ExecutionConfig executionConfig;
+    private final ControlFlowRegister controlFlow;
+    private final ExecutionStatistics statistics;
+    private final MemoTable memoTable;
+    private int callDepth = 0;
+    private int functionTableVersion = 0;
     private File rootPath = new File(System.getProperty("user.dir"));
 
     /**
@@ -67,13 +113,33 @@ public class ExecutionContext {
      * @param operationConfig The operation config for this execution.
      */
     public ExecutionContext(Map<String, Value> envVars, Map<String, Function> functions, File root, OperationConfig operationConfig) {
-        identifiers.putAll(envVars);
+        this(envVars, functions, root, operationConfig, new ExecutionConfig());
+    }
+
+    /**
+     * Create a new root execution context with environment variables and an execution configuration.
+     *
+     * @param envVars The environment variables to create.
+     * @param functions Overridden or additional functions provided by the executor.
+     * @param root The root directory.
+     * @param operationConfig The operation config for this execution.
+     * @param executionConfig The execution config for this execution.
+     */
+    public ExecutionContext(Map<String, Value> envVars, Map<String, Function> functions, File root, OperationConfig operationConfig, ExecutionConfig executionConfig) {
+        rootContext = this;
+        builtIns = new HashMap<>();
+        shadowedFunctions = new HashSet<>();
+        for (Map.Entry<String, Value> entry : envVars.entrySet())
+            defineIdentifier(entry.getKey(), entry.getValue());
 
         this.operationConfig = operationConfig;
+        this.executionConfig = executionConfig;
+        controlFlow = new ControlFlowRegister();
+        statistics = new ExecutionStatistics();
+        memoTable = new MemoTable(executionConfig.getMemoCacheSize());
 
         if (root != null)
             rootPath = root;
-        rootContext = this;
 
         assignDefaults();
 
@@ -90,10 +156,40 @@ public class ExecutionContext {
         this.parent = parent;
 
         rootContext = parent.rootContext;
+        builtIns = parent.builtIns;
+        shadowedFunctions = parent.shadowedFunctions;
+        rootPath = parent.rootPath;
+
+        fileTracker = parent.fileTracker;
+        operationConfig = parent.operationConfig;
+        executionConfig = parent.executionConfig;
+        controlFlow = parent.controlFlow;
+        statistics = parent.statistics;
+        memoTable = parent.memoTable;
+    }
+
+    /**
+     * Create a new execution context within the scope of another execution context, which tracks control flow
+     * separately from it. This is used for code that is suspended part way through, like the body of a generator, so
+     * that control flow within it does not leak into its caller.
+     *
+     * @param parent      The context to inherit from.
+     * @param controlFlow The control flow register for this context and its children.
+     */
+    public ExecutionContext(ExecutionContext parent, ControlFlowRegister controlFlow) {
+        this.parent = parent;
+
+        rootContext = parent.rootContext;
+        builtIns = parent.builtIns;
+        shadowedFunctions = parent.shadowedFunctions;
         rootPath = parent.rootPath;
 
         fileTracker = parent.fileTracker;
         operationConfig = parent.operationConfig;
+        executionConfig = parent.executionConfig;
+        this.controlFlow = controlFlow;
+        statistics = parent.statistics;
+        memoTable = parent.memoTable;
     }
 
     /**
@@ -105,6 +201,42 @@ public class ExecutionContext {
         return operationConfig;
     }
 
+    /**
+     * Get the execution config for this context.
+     *
+     * @return The execution config for this context.
+     */
+    public ExecutionConfig getExecutionConfig() {
+        return executionConfig;
+    }
+
+    /**
+     * Get the control flow register of this execution, which is shared by every context within it.
+     *
+     * @return The control flow register of this execution.
+     */
+    public ControlFlowRegister getControlFlow() {
+        return controlFlow;
+    }
+
+    /**
+     * Get the statistics of this execution, which are shared by every context within it.
+     *
+     * @return The statistics of this execution.
+     */
+    public ExecutionStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Get the table of memoized pure function results of this execution.
+     *
+     * @return The memo table of this execution.
+     */
+    public MemoTable getMemoTable() {
+        return memoTable;
+    }
+
     /**
      * Get the root path of the execution context.
      *
@@ -139,22 +271,125 @@ public class ExecutionContext {
      * @return The value tied to the identifier, or null if the identifier does not exist.
      */
     public Value getIdentifier(String identifier) {
-        if (identifiers.containsKey(identifier))
-            return identifiers.get(identifier);
+        Binding binding = identifiers.get(identifier);
+        if (binding != null)
+            return binding.getValue();
 
         if (parent != null)
             return parent.getIdentifier(identifier);
-        return Value.NULL;
+        return builtIns.getOrDefault(identifier, Value.NULL);
     }
 
     /**
-     * Define an identifier in the local context.
+     * Find the value tied to an identifier in this or any ancestor contexts, with a single walk of the context chain.
+     *
+     * @param identifier The identifier to find the value of.
+     * @return The value tied to the identifier, or null if the identifier does not exist.
+     */
+    public Value findIdentifier(String identifier) {
+        Binding binding = identifiers.get(identifier);
+        if (binding != null)
+            return binding.getValue();
+
+        if (parent != null)
+            return parent.findIdentifier(identifier);
+        return builtIns.get(identifier);
+    }
+
+    /**
+     * Find the value tied to an identifier in this context, ignoring parent contexts. Built-in functions are considered part of the root context.
+     *
+     * @param identifier The identifier to find the value of.
+     * @return The value tied to the identifier, or null if this context does not contain the identifier.
+     */
+    public Value findLocalIdentifier(String identifier) {
+        Binding binding = identifiers.get(identifier);
+        if (binding != null)
+            return binding.getValue();
+        return parent == null ? builtIns.get(identifier) : null;
+    }
+
+    /**
+     * Check if an identifier currently refers to a built-in function, which scripts are allowed to shadow.
+     *
+     * @param identifier The identifier to check.
+     * @return True if the identifier is not defined by the script or executor, and is the name of a built-in function.
+     */
+    public boolean isBuiltIn(String identifier) {
+        Value builtIn = builtIns.get(identifier);
+        return builtIn != null && findIdentifier(identifier) == builtIn;
+    }
+
+    /**
+     * Get the version of the function table of this execution. The version changes whenever a function is defined or modified in the root context, or when an identifier is shadowed for the first time, so a function resolved from the root context remains valid while the version is unchanged, unless its identifier has been shadowed.
+     *
+     * @return The current version of the function table.
+     */
+    public int getFunctionTableVersion() {
+        return rootContext.functionTableVersion;
+    }
+
+    /**
+     * Check if an identifier has ever been bound outside the root context to a function, or to any value in place of a function of the root context. The identifier may refer to something other than the root function in some scopes without the function table version changing, so it must be looked up on every call.
+     *
+     * @param identifier The identifier to check.
+     * @return True if the identifier has been shadowed.
+     */
+    public boolean isShadowedFunction(String identifier) {
+        return shadowedFunctions.contains(identifier);
+    }
+
+    /**
+     * Record a binding made outside the root context which may hide a function of the root context from calls made in
+     * its scope. Call sites do not check the scope chain before using a cached root function, so such identifiers are
+     * never cached again, and the version changes once to drop the caches made before.
+     *
+     * @param identifier The identifier being bound.
+     * @param val        The value it is bound to.
+     */
+    private void trackShadow(String identifier, Value val) {
+        if ((val.type() == DataType.FUNCTION || isRootFunction(identifier)) && shadowedFunctions.add(identifier))
+            rootContext.functionTableVersion++;
+    }
+
+    /**
+     * Check if an identifier is bound to a function in the root context, including built-in functions.
+     *
+     * @param identifier The identifier to check.
+     * @return True if the root context binds the identifier to a function.
+     */
+    private boolean isRootFunction(String identifier) {
+        Binding binding = rootContext.identifiers.get(identifier);
+        if (binding == null)
+            return builtIns.containsKey(identifier);
+        return binding.getValue().type() == DataType.FUNCTION;
+    }
+
+    /**
+     * Define an immutable identifier in the local context.
      *
      * @param identifier The name of the identifier to define.
      * @param val        The value of the identifier.
      */
     public void defineIdentifier(String identifier, Value val) {
-        identifiers.put(identifier, val);
+        defineIdentifier(identifier, val, false);
+    }
+
+    /**
+     * Define an identifier in the local context.
+     *
+     * @param identifier The name of the identifier to define.
+     * @param val        The value of the identifier.
+     * @param isMutable  True if the identifier can be reassigned.
+     */
+    public void defineIdentifier(String identifier, Value val, boolean isMutable) {
+        if (rootContext != this)
+            trackShadow(identifier, val);
+        else if (val.type() == DataType.FUNCTION)
+            rootContext.functionTableVersion++;
+        else if (builtIns.containsKey(identifier) && shadowedFunctions.add(identifier))
+            rootContext.functionTableVersion++;
+        identifiers.put(identifier, new Binding(val, isMutable));
     }
 
     /**
@@ -164,16 +399,35 @@ public class ExecutionContext {
      * @param val        The new value of the identifier.
      */
     public void modifyIdentifier(String identifier, Value val) {
-        if (!hasIdentifier(identifier))
-            throw new RuntimeException("Identifier \"%s\" not found".formatted(identifier));
+        Binding binding = identifiers.get(identifier);
+        if (binding == null) {
+            if (parent == null)
+                throw new RuntimeException("Identifier \"%s\" not found".formatted(identifier));
+            parent.modifyIdentifier(identifier, val);
+            return;
+        }
+
+        if (!binding.isMutable())
+            throw new RuntimeException("Identifier \"%s\" is not mutable".formatted(identifier));
+        if (rootContext != this)
+            trackShadow(identifier, val);
+        else if (val.type() == DataType.FUNCTION || binding.getValue().type() == DataType.FUNCTION)
+            rootContext.functionTableVersion++;
+        binding.setValue(val);
+    }
 
-        if (identifiers.containsKey(identifier)) {
-            if (!identifiers.get(identifier).isMutable())
-                throw new RuntimeException("Identifier \"%s\" is not mutable".formatted(identifier));
+    /**
+     * Check if an identifier in this or any ancestor contexts can be reassigned.
+     *
+     * @param identifier The identifier to check.
+     * @return True if the identifier exists and is mutable.
+     */
+    public boolean isIdentifierMutable(String identifier) {
+        Binding binding = identifiers.get(identifier);
+        if (binding != null)
+            return binding.isMutable();
 
-            identifiers.put(identifier, val);
-        } else
-            parent.modifyIdentifier(identifier, val);
+        return parent != null && parent.isIdentifierMutable(identifier);
     }
 
     /**
@@ -183,8 +437,9 @@ public class ExecutionContext {
      * @return True if the identifier exists.
      */
     public boolean hasIdentifier(String identifier) {
-         boolean parentHasKey = this.parent != null && this.parent.hasIdentifier(identifier);
-        return identifiers.containsKey(identifier) || parentHasKey;
+        if (identifiers.containsKey(identifier))
+            return true;
+        return parent != null ? parent.hasIdentifier(identifier) : builtIns.containsKey(identifier);
     }
 
     /**
@@ -197,6 +452,28 @@ public class ExecutionContext {
         return identifiers.containsKey(identifier);
     }
 
+    /**
+     * Change the value of an identifier already defined in this context, without checking if it is mutable. This lets a
+     * loop advance its loop variable in place instead of defining a new binding every iteration.
+     *
+     * @param identifier The name of the identifier, which must be defined in this context.
+     * @param val        The new value of the identifier.
+     */
+    public void rebindLocalIdentifier(String identifier, Value val) {
+        if (rootContext != this)
+            trackShadow(identifier, val);
+        else if (val.type() == DataType.FUNCTION)
+            rootContext.functionTableVersion++;
+        identifiers.get(identifier).setValue(val);
+    }
+
+    /**
+     * Remove all identifiers defined in this context, ignoring parent contexts, so that the context can be reused for a new scope.
+     */
+    public void clearLocalIdentifiers() {
+        identifiers.clear();
+    }
+
     /**
      * Execute a function.
      *
@@ -208,16 +485,47 @@ public class ExecutionContext {
         if (functionValue.type() != DataType.FUNCTION)
             throw new SakuraException("Can not call \"%s\" of type \"%s\". Only function types are callable.".formatted(identifier, functionValue.type()));
 
+        return executeFunc(identifier, (Function) functionValue.value(), args.toArray(Value[]::new));
+    }
+
+    /**
+     * Execute a function which has already been resolved, passing the arguments without a list.
+     *
+     * @param identifier The function identifier, used for error reporting.
+     * @param func       The function to execute.
+     * @param args       The value of the arguments to pass to the function.
+     * @return The value returned by the function.
+     */
+    public Value executeFunc(String identifier, Function func, Value[] args) {
+
+        // The depth is tracked by the root context since it is shared by the whole execution
+        int depth = ++rootContext.callDepth;
         try {
-            var func = (Function) functionValue.value();
+            int maxCallDepth = executionConfig.getMaxCallDepth();
+            if (maxCallDepth > 0 && depth > maxCallDepth)
+                throw new SakuraException("Maximum call depth of %d exceeded.".formatted(maxCallDepth));
+            statistics.recordCallDepth(depth);
+
             return func.execute(args, this);
         } catch (SakuraException e) {
             throw e;
         } catch (Exception e) {
             throw new SakuraException("An exception occurred while executing the function \"%s\".".formatted(identifier), e);
+        } finally {
+            rootContext.callDepth--;
         }
     }
 
+    /**
+     * Register a built-in function, which scripts can shadow by defining an identifier with the same name.
+     *
+     * @param identifier The name of the function.
+     * @param function   The function to register.
+     */
+    private void registerBuiltIn(String identifier, Function function) {
+        builtIns.put(identifier, new Value(DataType.FUNCTION, function));
+    }
+
     /**
      * Register a function with the execution context.
      *
@@ -225,40 +533,72 @@ public class ExecutionContext {
      * @param function   The function to execute.
      */
     public void registerFunc(String identifier, Function function) {
-        identifiers.put(identifier, new Value(DataType.FUNCTION, function, false));
+        defineIdentifier(identifier, new Value(DataType.FUNCTION, function));
     }
 
     /**
      * Set default values
      */
     private void assignDefaults() {
-        identifiers.put("NULL", Value.NULL);
-        identifiers.put("TRUE", Value.TRUE);
-        identifiers.put("FALSE", Value.FALSE);
+        defineIdentifier("NULL", Value.NULL);
+        defineIdentifier("TRUE", Value.TRUE);
+        defineIdentifier("FALSE", Value.FALSE);
 
         boolean isMacOS = SystemUtils.IS_OS_MAC;
         boolean isWindows = SystemUtils.IS_OS_WINDOWS;
         boolean isLinux = SystemUtils.IS_OS_LINUX;
         boolean isOtherOS = !isMacOS && !isWindows && !isLinux;
-        identifiers.put("@isMacOS", new Value(DataType.BOOLEAN, isMacOS, false));
-        identifiers.put("@isWindows", new Value(DataType.BOOLEAN, isWindows, false));
-        identifiers.put("@isLinux", new Value(DataType.BOOLEAN, isLinux, false));
-        identifiers.put("@isOtherOS", new Value(DataType.BOOLEAN, isOtherOS, false));
-
-        identifiers.put("@root", new Value(DataType.PATH, rootPath, false));
-
-        identifiers.put("@__lang_version", new Value(DataType.STRING, SakuraInterpreter.LANG_VERSION, false));
-        identifiers.put("@__interpreter", new Value(DataType.STRING, "arkinsolomon.java", false));
-        identifiers.put("@__interpreter_version", new Value(DataType.STRING, SakuraInterpreter.INTERPRETER_VERSION, false));
-
-        registerFunc("print", new PrintFunction());
-        registerFunc("range", new RangeFunction());
-        registerFunc("exit", new ExitFunction());
-        registerFunc("list", new ListFunction());
-        registerFunc("type", new TypeFunction());
-        registerFunc("str", new StrFunction());
-        registerFunc("canWrite", new CanWriteFunction());
-        registerFunc("canRead", new CanReadFunction());
+        defineIdentifier("@isMacOS", Value.ofBoolean(isMacOS));
+        defineIdentifier("@isWindows", Value.ofBoolean(isWindows));
+        defineIdentifier("@isLinux", Value.ofBoolean(isLinux));
+        defineIdentifier("@isOtherOS", Value.ofBoolean(isOtherOS));
+
+        defineIdentifier("@root", new Value(DataType.PATH, rootPath));
+
+        defineIdentifier("@__lang_version", new Value(DataType.STRING, SakuraInterpreter.LANG_VERSION));
+        defineIdentifier("@__interpreter", new Value(DataType.STRING, "arkinsolomon.java"));
+        defineIdentifier("@__interpreter_version", new Value(DataType.STRING, SakuraInterpreter.INTERPRETER_VERSION));
+
+        registerBuiltIn("print", new PrintFunction());
+        registerBuiltIn("range", new RangeFunction());
+        registerBuiltIn("exit", new ExitFunction());
+        registerBuiltIn("list", new ListFunction());
+        registerBuiltIn("type", new TypeFunction());
+        registerBuiltIn("str", new StrFunction());
+        registerBuiltIn("format", new FormatFunction());
+        registerBuiltIn("length", new LengthFunction());
+        registerBuiltIn("substring", new SubstringFunction());
+        registerBuiltIn("indexOf", new IndexOfFunction());
+        registerBuiltIn("contains", new ContainsFunction());
+        registerBuiltIn("split", new SplitFunction());
+        registerBuiltIn("replace", new ReplaceFunction());
+        registerBuiltIn("trim", new TrimFunction());
+        registerBuiltIn("get", new GetFunction());
+        registerBuiltIn("slice", new SliceFunction());
+        registerBuiltIn("append", new AppendFunction());
+        registerBuiltIn("dict", new DictFunction());
+        registerBuiltIn("has", new HasFunction());
+        registerBuiltIn("set", new SetFunction());
+        registerBuiltIn("keys", new KeysFunction());
+        registerBuiltIn("map", new MapFunction());
+        registerBuiltIn("filter", new FilterFunction());
+        registerBuiltIn("take", new TakeFunction());
+        registerBuiltIn("zip", new ZipFunction());
+        registerBuiltIn("enumerate", new EnumerateFunction());
+        registerBuiltIn("sum", new SumFunction());
+        registerBuiltIn("min", new MinFunction());
+        registerBuiltIn("max", new MaxFunction());
+        registerBuiltIn("count", new CountFunction());
+        registerBuiltIn("any", new AnyFunction());
+        registerBuiltIn("all", new AllFunction());
+        registerBuiltIn("sort", new SortFunction());
+        registerBuiltIn("matches", new MatchesFunction());
+        registerBuiltIn("find", new FindFunction());
+        registerBuiltIn("replaceAll", new ReplaceAllFunction());
+        registerBuiltIn("readJson", new ReadJsonFunction());
+        registerBuiltIn("writeJson", new WriteJsonFunction());
+        registerBuiltIn("canWrite", new CanWriteFunction());
+        registerBuiltIn("canRead", new CanReadFunction());
     }
 
     /**
@@ -272,7 +612,8 @@ public class ExecutionContext {
                 .toArray(String[]::new);
 
         for (String k : ctxIds) {
-            Value val = identifiers.get(k);
+            Binding binding = identifiers.get(k);
+            Value val = binding.getValue();
             @Var String output = val.toString();
             if (val.value() instanceof Function) {
                 if (val.value() instanceof Node)
@@ -281,7 +622,7 @@ public class ExecutionContext {
                     output = val.value().getClass().getCanonicalName();
             }
 
-            System.out.printf("[%s] %s: %s%n", val.isMutable() ? "MUTABLE" : "IMMUTABLE", k, output.replaceAll("\n", "\\\\n"));
+            System.out.printf("[%s] %s: %s%n", binding.isMutable() ? "MUTABLE" : "IMMUTABLE", k, output.replaceAll("\n", "\\\\n"));
         }
 
     }
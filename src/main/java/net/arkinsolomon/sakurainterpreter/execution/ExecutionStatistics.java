@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * Counters describing the optimizations applied during a single execution. The statistics are owned by the root context, and shared by every context within the execution.
+ */
+public final class ExecutionStatistics {
+
+    private long eliminatedTailCalls;
+    private int maxCallDepth;
+    private long memoHits;
+    private long memoMisses;
+    private long patternCacheHits;
+    private long patternCacheMisses;
+
+    /**
+     * Record that a tail call was executed without growing the stack.
+     */
+    public void recordEliminatedTailCall() {
+        eliminatedTailCalls++;
+    }
+
+    /**
+     * Get the number of tail calls which were executed without growing the stack.
+     *
+     * @return The number of eliminated tail calls.
+     */
+    public long getEliminatedTailCalls() {
+        return eliminatedTailCalls;
+    }
+
+    /**
+     * Record the depth of a function call.
+     *
+     * @param depth The amount of function calls on the stack, including the new one.
+     */
+    void recordCallDepth(int depth) {
+        if (depth > maxCallDepth)
+            maxCallDepth = depth;
+    }
+
+    /**
+     * Get the deepest amount of nested function calls reached.
+     *
+     * @return The maximum call depth reached.
+     */
+    public int getMaxCallDepth() {
+        return maxCallDepth;
+    }
+
+    /**
+     * Record that the result of a pure function call was found in the memo table.
+     */
+    public void recordMemoHit() {
+        memoHits++;
+    }
+
+    /**
+     * Record that the result of a pure function call was not found in the memo table, so the function was executed.
+     */
+    public void recordMemoMiss() {
+        memoMisses++;
+    }
+
+    /**
+     * Get the number of pure function calls whose result was found in the memo table.
+     *
+     * @return The number of memo table hits.
+     */
+    public long getMemoHits() {
+        return memoHits;
+    }
+
+    /**
+     * Get the number of pure function calls whose result was not found in the memo table.
+     *
+     * @return The number of memo table misses.
+     */
+    public long getMemoMisses() {
+        return memoMisses;
+    }
+
+    /**
+     * Record that a regular expression was found already compiled.
+     */
+    public void recordPatternCacheHit() {
+        patternCacheHits++;
+    }
+
+    /**
+     * Record that a regular expression was not cached, so it was compiled.
+     */
+    public void recordPatternCacheMiss() {
+        patternCacheMisses++;
+    }
+
+    /**
+     * Get the number of regular expressions which were found already compiled.
+     *
+     * @return The number of pattern cache hits.
+     */
+    public long getPatternCacheHits() {
+        return patternCacheHits;
+    }
+
+    /**
+     * Get the number of regular expressions which had to be compiled.
+     *
+     * @return The number of pattern cache misses.
+     */
+    public long getPatternCacheMisses() {
+        return patternCacheMisses;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.functions.Function;
+
+/**
+ * An iterable which lazily skips the values of another iterable that do not match a predicate. The predicate is called again for every value each time the iterable is copied and iterated over.
+ */
+public final class FilterIterable implements Iterable {
+
+    private final Iterable source;
+    private final Function predicate;
+    private final ExecutionContext ctx;
+
+    /**
+     * Create a new iterable which filters the values of another iterable.
+     *
+     * @param source    The iterable to filter the values of.
+     * @param predicate The function to call with each value, which returns true to keep the value.
+     * @param ctx       The context to call the predicate from.
+     */
+    public FilterIterable(Iterable source, Function predicate, ExecutionContext ctx) {
+        this.source = source;
+        this.predicate = predicate;
+        this.ctx = ctx;
+    }
+
+    @Override
+    public Value next() {
+        @Var Value value = source.next();
+        while (value != null) {
+            Value keep = ctx.executeFunc("<filter callback>", predicate, new Value[]{value});
+            if (keep.type() != DataType.BOOLEAN)
+                throw new SakuraException("The predicate passed to \"filter()\" must return a boolean, but returned a value of type \"%s\".".formatted(keep.type()));
+            if (keep.booleanValue())
+                return value;
+            value = source.next();
+        }
+        return null;
+    }
+
+    @Override
+    public Iterable copy() {
+        return new FilterIterable(source.copy(), predicate, ctx);
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+}
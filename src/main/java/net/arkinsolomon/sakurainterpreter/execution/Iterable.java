@@ -15,6 +15,8 @@
 
 package net.arkinsolomon.sakurainterpreter.execution;
 
+import java.io.File;
+
 /**
  * A value that can be iterated over in a for loop.
  */
@@ -31,4 +33,31 @@ public interface Iterable {
      * Copy the iterable to reset all pointers.
      */
     Iterable copy();
+
+    /**
+     * Release anything held by this iterable once it will not be iterated over any further. Consumers which may stop
+     * before the iterable is exhausted must call this. It is safe to call more than once, and after the iterable is
+     * exhausted.
+     */
+    default void close() {
+    }
+
+    /**
+     * Get a fresh iterable over a value. Strings iterate over their characters, maps over their keys, and paths over
+     * the contents of the directory.
+     *
+     * @param value The value to iterate over.
+     * @return A new iterable which starts at the beginning of the value, or null if the value can not be iterated over.
+     */
+    static Iterable from(Value value) {
+        return switch (value.type()) {
+            case STRING -> new StringIterable((String) value.value());
+
+            // Values are shared, so iterate over a copy to leave the original iterable untouched
+            case ITERABLE -> ((Iterable) value.value()).copy();
+            case MAP -> ((ValueMap) value.value()).keys();
+            case PATH -> new DirectoryIterable((File) value.value());
+            default -> null;
+        };
+    }
 }
@@ -15,37 +15,286 @@
 
 package net.arkinsolomon.sakurainterpreter.execution;
 
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+
 import java.util.List;
+import java.util.stream.DoubleStream;
 
 /**
- * An iterable from a list.
+ * An immutable, random-access list of values, which is a view of part of a {@link PersistentVector}, or of a
+ * {@link NumberBuffer} if every element is a number. Copies and slices share the backing storage, so each instance
+ * only adds its own iteration cursor.
  */
-public class ListIterable implements Iterable {
+public final class ListIterable implements Iterable {
 
-    private final List<Value> values;
+    private final PersistentVector vector;
+    private final NumberBuffer numbers;
+    private final int offset;
+    private final int size;
     private int current = 0;
+    private Value[] leaf;
+    private int leafStart = -1;
 
     /**
-     * Create a new iterable with the values from the list.
+     * Create a new list with the values from another list.
      *
-     * @param values The values to store in the iterable.
+     * @param values The values to store in the list.
      */
     public ListIterable(List<Value> values) {
-        this.values = values;
+        this(values.toArray(new Value[0]));
+    }
+
+    /**
+     * Create a new list with the values from an array. The array is not retained.
+     *
+     * @param values The values to store in the list.
+     */
+    public ListIterable(Value[] values) {
+        this(PersistentVector.of(values, 0, values.length));
+    }
+
+    /**
+     * Create a new list containing every element of a vector.
+     *
+     * @param vector The vector to view.
+     */
+    ListIterable(PersistentVector vector) {
+        this(vector, 0, vector.size());
+    }
+
+    /**
+     * Create a new list that views part of a vector.
+     *
+     * @param vector The backing vector, which is shared.
+     * @param offset The index in the vector of the first element of this list.
+     * @param size   The number of elements in this list.
+     */
+    private ListIterable(PersistentVector vector, int offset, int size) {
+        this.vector = vector;
+        numbers = null;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Create a new list that views part of a number buffer.
+     *
+     * @param numbers The backing buffer, which is shared.
+     * @param offset  The index in the buffer of the first element of this list.
+     * @param size    The number of elements in this list.
+     */
+    private ListIterable(NumberBuffer numbers, int offset, int size) {
+        vector = null;
+        this.numbers = numbers;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Create a new list of numbers, which are stored unboxed. The array is not retained.
+     *
+     * @param values           The numbers to store in the list.
+     * @param offHeapThreshold The capacity at which the list's storage is moved off-heap, or zero to keep it on the heap.
+     * @return A new list containing the numbers.
+     */
+    public static ListIterable ofNumbers(double[] values, int offHeapThreshold) {
+        return new ListIterable(new NumberBuffer(values, 0, values.length, offHeapThreshold), 0, values.length);
+    }
+
+    /**
+     * Check if this list stores its elements as unboxed numbers. If it does, {@link #numberAt(int)},
+     * {@link #numberStream()} and {@link #toNumberArray()} can be used to read them without boxing.
+     *
+     * @return True if every element is a number stored unboxed.
+     */
+    public boolean isNumeric() {
+        return numbers != null;
+    }
+
+    /**
+     * Check if this list stores its elements outside the Java heap.
+     *
+     * @return True if this is a numeric list that has been moved off-heap.
+     */
+    public boolean isOffHeap() {
+        return numbers != null && numbers.isOffHeap();
+    }
+
+    /**
+     * Get the number at a specific index of a numeric list, without boxing it.
+     *
+     * @param index The index of the element to get.
+     * @return The number at the index.
+     * @throws SakuraException Thrown if the index is out of bounds.
+     * @throws IllegalStateException Thrown if this list is not numeric.
+     */
+    public double numberAt(int index) {
+        if (numbers == null)
+            throw new IllegalStateException("List is not numeric");
+        checkIndex(index);
+        return numbers.get(offset + index);
+    }
+
+    /**
+     * Stream the numbers of a numeric list without copying them, wherever they are stored.
+     *
+     * @return A stream of the elements of this list.
+     * @throws IllegalStateException Thrown if this list is not numeric.
+     */
+    public DoubleStream numberStream() {
+        if (numbers == null)
+            throw new IllegalStateException("List is not numeric");
+        return numbers.stream(offset, offset + size);
+    }
+
+    /**
+     * Copy the numbers of a numeric list into a new array.
+     *
+     * @return A new array with the elements of this list.
+     * @throws IllegalStateException Thrown if this list is not numeric.
+     */
+    public double[] toNumberArray() {
+        if (numbers == null)
+            throw new IllegalStateException("List is not numeric");
+        return numbers.copyRange(offset, offset + size);
+    }
+
+    /**
+     * Get the number of elements in this list.
+     *
+     * @return The number of elements in this list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the element at a specific index.
+     *
+     * @param index The index of the element to get.
+     * @return The element at the index.
+     * @throws SakuraException Thrown if the index is out of bounds.
+     */
+    public Value get(int index) {
+        checkIndex(index);
+        return elementAt(offset + index);
+    }
+
+    /**
+     * Get part of this list without copying any elements.
+     *
+     * @param start The index of the first element of the slice (inclusive).
+     * @param end   The index to stop at (exclusive).
+     * @return A new list which shares elements with this one.
+     * @throws SakuraException Thrown if the indices are out of bounds.
+     */
+    public ListIterable slice(int start, int end) {
+        if (start < 0 || end > size || start > end)
+            throw new SakuraException("Slice indices [%d, %d) are out of bounds for a list of length %d.".formatted(start, end, size));
+        if (numbers != null)
+            return new ListIterable(numbers, offset + start, end - start);
+        return new ListIterable(vector, offset + start, end - start);
+    }
+
+    /**
+     * Create a new list with values added to the end of this one. This list is not modified. If this list ends at the
+     * end of its storage, the new list shares all of its elements, otherwise the elements are copied first. Appending
+     * anything other than a number to a numeric list boxes its elements.
+     *
+     * @param newValues The values to add.
+     * @return A new list containing the elements of this list followed by {@code newValues}.
+     */
+    public ListIterable append(List<Value> newValues) {
+        if (numbers != null && newValues.stream().allMatch(v -> v.type() == DataType.NUMBER))
+            return appendNumbers(newValues);
+
+        if (vector != null && offset + size == vector.size()) {
+            @Var PersistentVector appended = vector;
+            for (Value value : newValues)
+                appended = appended.append(value);
+            return new ListIterable(appended, offset, size + newValues.size());
+        }
+
+        Value[] values = new Value[size + newValues.size()];
+        for (int i = 0; i < size; i++)
+            values[i] = elementAt(offset + i);
+        for (int i = 0; i < newValues.size(); i++)
+            values[size + i] = newValues.get(i);
+        return new ListIterable(values);
+    }
+
+    /**
+     * Create a new numeric list with numbers added to the end of this one, appending to the shared buffer in place if
+     * no other list has appended to it yet.
+     *
+     * @param newValues The numbers to add.
+     * @return A new numeric list containing the elements of this list followed by {@code newValues}.
+     */
+    private ListIterable appendNumbers(List<Value> newValues) {
+        @Var NumberBuffer buffer = numbers;
+        @Var int start = offset;
+        for (int i = 0; i < newValues.size(); i++) {
+            double value = newValues.get(i).numberValue();
+            if (!buffer.tryAppend(start + size + i, value)) {
+                double[] copy = buffer.copyRange(start, start + size + i);
+                buffer = new NumberBuffer(copy, 0, copy.length, buffer.getOffHeapThreshold());
+                start = 0;
+                buffer.tryAppend(size + i, value);
+            }
+        }
+        return new ListIterable(buffer, start, size + newValues.size());
+    }
+
+    /**
+     * Throw an exception if an index is outside of this list.
+     *
+     * @param index The index to check.
+     * @throws SakuraException Thrown if the index is out of bounds.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new SakuraException("Index %d is out of bounds for a list of length %d.".formatted(index, size));
+    }
+
+    /**
+     * Get an element of the backing storage, boxing it if this list is numeric.
+     *
+     * @param index The index in the backing storage.
+     * @return The element at the index.
+     */
+    private Value elementAt(int index) {
+        if (numbers != null)
+            return Value.ofNumber(numbers.get(index));
+        return vector.get(index);
     }
 
     @Override
     public Value next() {
-        if (current >= values.size())
+        if (current >= size)
             return null;
 
-        Value returnVal = values.get(current);
+        if (numbers != null) {
+            double number = numbers.get(offset + current);
+            current++;
+            return Value.ofNumber(number);
+        }
+
+        int index = offset + current;
+        int width = PersistentVector.leafWidth();
+        if (index - index % width != leafStart) {
+            leafStart = index - index % width;
+            leaf = vector.leafFor(index);
+        }
+
         current++;
-        return returnVal.setMutability(false);
+        return leaf[index - leafStart];
     }
 
     @Override
     public Iterable copy() {
-        return new ListIterable(values);
+        if (numbers != null)
+            return new ListIterable(numbers, offset, size);
+        return new ListIterable(vector, offset, size);
     }
 }
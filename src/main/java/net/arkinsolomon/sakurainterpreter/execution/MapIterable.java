@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import net.arkinsolomon.sakurainterpreter.functions.Function;
+
+/**
+ * An iterable which lazily applies a function to every value of another iterable. The function is called again for every value each time the iterable is copied and iterated over.
+ */
+public final class MapIterable implements Iterable {
+
+    private final Iterable source;
+    private final Function function;
+    private final ExecutionContext ctx;
+
+    /**
+     * Create a new iterable which maps the values of another iterable.
+     *
+     * @param source   The iterable to map the values of.
+     * @param function The function to call with each value, which returns the mapped value.
+     * @param ctx      The context to call the function from.
+     */
+    public MapIterable(Iterable source, Function function, ExecutionContext ctx) {
+        this.source = source;
+        this.function = function;
+        this.ctx = ctx;
+    }
+
+    @Override
+    public Value next() {
+        Value value = source.next();
+        if (value == null)
+            return null;
+        return ctx.executeFunc("<map callback>", function, new Value[]{value});
+    }
+
+    @Override
+    public Iterable copy() {
+        return new MapIterable(source.copy(), function, ctx);
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.arkinsolomon.sakurainterpreter.functions.Function;
+
+/**
+ * A bounded table of the results of pure function calls, keyed on the function and its argument values. The least recently used result is evicted once the table is full. Only values which can not be changed after creation are stored, so iterables and functions are never memoized.
+ */
+public final class MemoTable {
+
+    private final Map<Key, Value> results;
+
+    /**
+     * Create a new memo table.
+     *
+     * @param maxSize The maximum amount of results to keep.
+     */
+    public MemoTable(int maxSize) {
+        results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Check if a call with the given arguments can be memoized.
+     *
+     * @param args The arguments of the call.
+     * @return True if every argument can be used as part of a key.
+     */
+    public static boolean canMemoize(List<Value> args) {
+        for (Value arg : args) {
+            if (!canMemoize(arg))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the memoized result of a call.
+     *
+     * @param function The function that was called.
+     * @param args     The arguments of the call.
+     * @return The memoized result, or null if the call has not been memoized.
+     */
+    public Value get(Function function, List<Value> args) {
+        return results.get(new Key(function, args));
+    }
+
+    /**
+     * Memoize the result of a call. Results which can not be memoized are ignored.
+     *
+     * @param function The function that was called.
+     * @param args     The arguments of the call.
+     * @param result   The value the call returned.
+     */
+    public void put(Function function, List<Value> args, Value result) {
+        if (canMemoize(result))
+            results.put(new Key(function, List.copyOf(args)), result);
+    }
+
+    /**
+     * Check if a value can not be changed after creation, and can therefore be stored in the table.
+     *
+     * @param value The value to check.
+     * @return True if the value can be memoized.
+     */
+    private static boolean canMemoize(Value value) {
+        return value != null && value.type() != DataType.ITERABLE && value.type() != DataType.FUNCTION;
+    }
+
+    /**
+     * A memo table key.
+     *
+     * @param function The function that was called.
+     * @param args     The arguments of the call.
+     */
+    private record Key(Function function, List<Value> args) {
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+/**
+ * A growable buffer of unboxed numbers shared by numeric lists. Elements are never changed once written, so lists can
+ * view any part of the buffer. Only a list that ends at the current end of the buffer may append in place, other lists
+ * have to copy their elements into a new buffer first. Once the capacity reaches the off-heap threshold, the elements
+ * are moved into a direct buffer outside the Java heap.
+ */
+final class NumberBuffer {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int offHeapThreshold;
+    private volatile double[] heap;
+    private volatile DoubleBuffer offHeap;
+    private volatile int length;
+
+    /**
+     * Create a new buffer containing numbers from an array. The array is not retained.
+     *
+     * @param values           The array to copy the numbers from.
+     * @param from             The index of the first number to copy (inclusive).
+     * @param to               The index to stop copying at (exclusive).
+     * @param offHeapThreshold The capacity at which to move the buffer off-heap, or zero to always keep it on the heap.
+     */
+    NumberBuffer(double[] values, int from, int to, int offHeapThreshold) {
+        this.offHeapThreshold = offHeapThreshold;
+        int count = to - from;
+        int capacity = Math.max(count, MIN_CAPACITY);
+        if (shouldMoveOffHeap(capacity)) {
+            DoubleBuffer direct = allocateOffHeap(capacity);
+            direct.put(0, values, from, count);
+            offHeap = direct;
+        } else
+            heap = Arrays.copyOfRange(values, from, from + capacity);
+        length = count;
+    }
+
+    /**
+     * Get the off-heap threshold this buffer was created with.
+     *
+     * @return The capacity at which the buffer is moved off-heap, or zero if it is always kept on the heap.
+     */
+    int getOffHeapThreshold() {
+        return offHeapThreshold;
+    }
+
+    /**
+     * Get the number of elements that have been written to this buffer.
+     *
+     * @return The number of elements in this buffer.
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Check if the elements of this buffer are stored outside the Java heap.
+     *
+     * @return True if the elements are stored off-heap.
+     */
+    boolean isOffHeap() {
+        return heap == null;
+    }
+
+    /**
+     * Get an element of this buffer.
+     *
+     * @param index The index of the element, which must be less than the length of a list viewing this buffer.
+     * @return The element at the index.
+     */
+    double get(int index) {
+        double[] array = heap;
+        return array != null ? array[index] : offHeap.get(index);
+    }
+
+    /**
+     * Copy a range of elements into an array.
+     *
+     * @param from The index of the first element to copy (inclusive).
+     * @param to   The index to stop copying at (exclusive).
+     * @return A new array containing the elements.
+     */
+    double[] copyRange(int from, int to) {
+        double[] array = heap;
+        if (array != null)
+            return Arrays.copyOfRange(array, from, to);
+
+        double[] values = new double[to - from];
+        offHeap.get(from, values);
+        return values;
+    }
+
+    /**
+     * Stream a range of elements without copying them.
+     *
+     * @param from The index of the first element to stream (inclusive).
+     * @param to   The index to stop streaming at (exclusive).
+     * @return A stream which reads the elements directly from this buffer.
+     */
+    DoubleStream stream(int from, int to) {
+        double[] array = heap;
+        if (array != null)
+            return Arrays.stream(array, from, to);
+
+        // Appends may replace the buffer, but never change elements that have already been written
+        DoubleBuffer buffer = offHeap;
+        return IntStream.range(from, to).mapToDouble(buffer::get);
+    }
+
+    /**
+     * Append a number in place, if the buffer has not grown since the caller last saw it.
+     *
+     * @param expectedLength The length of the buffer that the caller's list ends at.
+     * @param value          The number to append.
+     * @return True if the number was appended, or false if another list has already appended to this buffer.
+     */
+    synchronized boolean tryAppend(int expectedLength, double value) {
+        if (length != expectedLength)
+            return false;
+
+        int capacity = heap != null ? heap.length : offHeap.capacity();
+        if (length == capacity) {
+            int newCapacity = capacity * 2;
+            if (shouldMoveOffHeap(newCapacity)) {
+                DoubleBuffer grown = allocateOffHeap(newCapacity);
+                if (heap != null)
+                    grown.put(0, heap, 0, length);
+                else
+                    grown.put(0, offHeap, 0, length);
+
+                // Readers check the heap array first, so the new buffer has to be visible before the array is cleared
+                offHeap = grown;
+                heap = null;
+            } else
+                heap = Arrays.copyOf(heap, newCapacity);
+        }
+
+        if (heap != null)
+            heap[length] = value;
+        else
+            offHeap.put(length, value);
+        length++;
+        return true;
+    }
+
+    /**
+     * Check if a buffer with a certain capacity should be stored off-heap.
+     *
+     * @param capacity The capacity of the buffer.
+     * @return True if the capacity has reached the off-heap threshold.
+     */
+    private boolean shouldMoveOffHeap(int capacity) {
+        return offHeapThreshold > 0 && capacity >= offHeapThreshold;
+    }
+
+    /**
+     * Allocate a direct buffer for numbers.
+     *
+     * @param capacity The amount of numbers the buffer can hold.
+     * @return A new direct buffer in native byte order.
+     */
+    private static DoubleBuffer allocateOffHeap(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import java.util.Arrays;
+
+/**
+ * An immutable hash map from values to values, stored as a hash array mapped trie. Each level of the trie consumes five
+ * bits of the key's hash, and nodes only allocate space for the children that exist. Adding an entry copies a single
+ * path from the root, so old versions of the map stay valid and share almost all of their structure with new ones.
+ */
+final class PersistentHashMap {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * A map with no entries.
+     */
+    static final PersistentHashMap EMPTY = new PersistentHashMap(0, BitmapNode.EMPTY);
+
+    private final int size;
+    private final Node root;
+
+    /**
+     * Create a new map.
+     *
+     * @param size The number of entries in the map.
+     * @param root The root node of the trie.
+     */
+    private PersistentHashMap(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    /**
+     * Get the number of entries in this map.
+     *
+     * @return The number of entries in this map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the value associated with a key.
+     *
+     * @param key The key to look up.
+     * @return The value associated with the key, or null if the key is not in the map.
+     */
+    Value get(Value key) {
+        return root.find(0, hash(key), key);
+    }
+
+    /**
+     * Create a new map with a key set to a value. This map is not modified.
+     *
+     * @param key   The key to set.
+     * @param value The value to associate with the key.
+     * @return A new map with the entry, or this map if the key was already associated with the same value.
+     */
+    PersistentHashMap put(Value key, Value value) {
+        int hash = hash(key);
+        Value existing = root.find(0, hash, key);
+        if (existing == value)
+            return this;
+        return new PersistentHashMap(existing == null ? size + 1 : size, root.put(0, hash, key, value));
+    }
+
+    /**
+     * Spread the high bits of a key's hash into the low bits, which are consumed first.
+     *
+     * @param key The key to hash.
+     * @return The hash of the key.
+     */
+    private static int hash(Value key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Get the bit which represents a hash at a level of the trie.
+     *
+     * @param hash  The hash of the key.
+     * @param shift The number of bits consumed by the levels above.
+     * @return A bitmap with only the bit for the hash set.
+     */
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private interface Node {
+
+        /**
+         * Find the value associated with a key.
+         *
+         * @param shift The number of bits consumed by the levels above this node.
+         * @param hash  The hash of the key.
+         * @param key   The key to find.
+         * @return The value associated with the key, or null if the key is not under this node.
+         */
+        Value find(int shift, int hash, Value key);
+
+        /**
+         * Create a copy of this node with a key set to a value.
+         *
+         * @param shift The number of bits consumed by the levels above this node.
+         * @param hash  The hash of the key.
+         * @param key   The key to set.
+         * @param value The value to associate with the key.
+         * @return The new node.
+         */
+        Node put(int shift, int hash, Value key, Value value);
+    }
+
+    /**
+     * A node which stores up to 32 entries or children, packed according to a bitmap. Slot {@code 2i} holds the key of
+     * the {@code i}th entry, or null if slot {@code 2i + 1} holds a child node instead of a value.
+     *
+     * @param bitmap The bitmap of which hash fragments are present in this node.
+     * @param array  The packed keys, values, and children.
+     */
+    private record BitmapNode(int bitmap, Object[] array) implements Node {
+
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        @Override
+        public Value find(int shift, int hash, Value key) {
+            int bit = bitFor(hash, shift);
+            if ((bitmap & bit) == 0)
+                return null;
+
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+            if (storedKey == null)
+                return ((Node) stored).find(shift + BITS, hash, key);
+            return key.equals(storedKey) ? (Value) stored : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Value key, Value value) {
+            int bit = bitFor(hash, shift);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, 2 * index);
+                newArray[2 * index] = key;
+                newArray[2 * index + 1] = value;
+                System.arraycopy(array, 2 * index, newArray, 2 * index + 2, array.length - 2 * index);
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+            Object[] newArray = array.clone();
+            if (storedKey == null)
+                newArray[2 * index + 1] = ((Node) stored).put(shift + BITS, hash, key, value);
+            else if (key.equals(storedKey))
+                newArray[2 * index + 1] = value;
+            else {
+                newArray[2 * index] = null;
+                newArray[2 * index + 1] = createNode(shift + BITS, (Value) storedKey, (Value) stored, hash, key, value);
+            }
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        /**
+         * Create a node holding two entries whose hashes collided at the level above.
+         *
+         * @param shift  The number of bits consumed by the levels above the new node.
+         * @param key1   The key of the first entry.
+         * @param value1 The value of the first entry.
+         * @param hash2  The hash of the second key.
+         * @param key2   The key of the second entry.
+         * @param value2 The value of the second entry.
+         * @return A new node containing both entries.
+         */
+        private static Node createNode(int shift, Value key1, Value value1, int hash2, Value key2, Value value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2)
+                return new CollisionNode(hash1, new Value[]{key1, value1, key2, value2});
+            return EMPTY.put(shift, hash1, key1, value1).put(shift, hash2, key2, value2);
+        }
+    }
+
+    /**
+     * A node which stores entries whose keys have identical hashes, as alternating keys and values.
+     *
+     * @param hash    The hash shared by every key in this node.
+     * @param entries The keys and values of this node.
+     */
+    private record CollisionNode(int hash, Value[] entries) implements Node {
+
+        @Override
+        public Value find(int shift, int hash, Value key) {
+            if (hash != this.hash)
+                return null;
+
+            for (int i = 0; i < entries.length; i += 2)
+                if (key.equals(entries[i]))
+                    return entries[i + 1];
+            return null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Value key, Value value) {
+            if (hash != this.hash)
+                return new BitmapNode(bitFor(this.hash, shift), new Object[]{null, this}).put(shift, hash, key, value);
+
+            for (int i = 0; i < entries.length; i += 2)
+                if (key.equals(entries[i])) {
+                    Value[] newEntries = entries.clone();
+                    newEntries[i + 1] = value;
+                    return new CollisionNode(hash, newEntries);
+                }
+
+            Value[] newEntries = Arrays.copyOf(entries, entries.length + 2);
+            newEntries[entries.length] = key;
+            newEntries[entries.length + 1] = value;
+            return new CollisionNode(hash, newEntries);
+        }
+    }
+}
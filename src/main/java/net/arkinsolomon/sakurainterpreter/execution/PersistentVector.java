@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import com.google.errorprone.annotations.Var;
+
+import java.util.Arrays;
+
+/**
+ * An immutable vector of values, stored as a 32-way trie with the last partial leaf kept separately as the tail.
+ * Appending copies only the tail or a single path through the trie, so old versions of the vector stay valid and share
+ * almost all of their structure with new ones.
+ */
+final class PersistentVector {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * A vector with no elements.
+     */
+    static final PersistentVector EMPTY = new PersistentVector(0, BITS, new Object[WIDTH], new Value[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Value[] tail;
+
+    /**
+     * Create a new vector.
+     *
+     * @param size  The number of elements in the vector.
+     * @param shift The number of bits to shift an index by to get the index of its child in the root.
+     * @param root  The root of the trie, whose children are other internal nodes, or leaves if the shift is {@link #BITS}.
+     * @param tail  The elements after the last full leaf.
+     */
+    private PersistentVector(int size, int shift, Object[] root, Value[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Create a new vector with a range of elements from an array. The array is not retained.
+     *
+     * @param values The array to copy the elements from.
+     * @param from   The index of the first element to copy (inclusive).
+     * @param to     The index to stop copying at (exclusive).
+     * @return A new vector containing the elements.
+     */
+    static PersistentVector of(Value[] values, int from, int to) {
+        if (from == to)
+            return EMPTY;
+
+        int firstEnd = Math.min(from + WIDTH, to);
+        @Var PersistentVector vector = new PersistentVector(firstEnd - from, BITS, new Object[WIDTH], Arrays.copyOfRange(values, from, firstEnd));
+        for (int i = firstEnd; i < to; i += WIDTH)
+            vector = vector.pushTail(Arrays.copyOfRange(values, i, Math.min(i + WIDTH, to)));
+        return vector;
+    }
+
+    /**
+     * Get the number of elements in this vector.
+     *
+     * @return The number of elements in this vector.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the element at an index.
+     *
+     * @param index The index of the element, which must be within the bounds of the vector.
+     * @return The element at the index.
+     */
+    Value get(int index) {
+        return leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Get the leaf array containing an index. Sequential readers can keep the leaf and index into it directly until they
+     * reach the next multiple of {@link #leafWidth()}.
+     *
+     * @param index The index of the element, which must be within the bounds of the vector.
+     * @return The leaf containing the element, where the element is at {@code index % leafWidth()}.
+     */
+    Value[] leafFor(int index) {
+        if (index >= tailOffset())
+            return tail;
+
+        @Var Object[] node = root;
+        for (int level = shift; level > BITS; level -= BITS)
+            node = (Object[]) node[(index >>> level) & MASK];
+        return (Value[]) node[(index >>> BITS) & MASK];
+    }
+
+    /**
+     * Get the number of elements in every leaf except the tail.
+     *
+     * @return The width of each leaf.
+     */
+    static int leafWidth() {
+        return WIDTH;
+    }
+
+    /**
+     * Create a new vector with a value added to the end. This vector is not modified.
+     *
+     * @param value The value to add.
+     * @return A new vector with the value at the end.
+     */
+    PersistentVector append(Value value) {
+        if (tail.length < WIDTH) {
+            Value[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector(size + 1, shift, root, newTail);
+        }
+        return pushTail(new Value[]{value});
+    }
+
+    /**
+     * Get the index of the first element in the tail.
+     *
+     * @return The number of elements stored in the trie.
+     */
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    /**
+     * Move the full tail into the trie and start a new tail.
+     *
+     * @param newTail The new tail, which has at most {@link #WIDTH} elements.
+     * @return A new vector with the old tail in the trie.
+     */
+    private PersistentVector pushTail(Value[] newTail) {
+        @Var int newShift = shift;
+        Object[] newRoot;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else
+            newRoot = pushLeaf(shift, root, tail);
+        return new PersistentVector(size + newTail.length, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Copy the path to the next free leaf slot, and place a leaf there.
+     *
+     * @param level  The shift of the parent node.
+     * @param parent The node to insert the leaf under.
+     * @param leaf   The full leaf to insert.
+     * @return A copy of the parent containing the leaf.
+     */
+    private Object[] pushLeaf(int level, Object[] parent, Value[] leaf) {
+        int childIndex = ((size - 1) >>> level) & MASK;
+        Object[] newParent = parent.clone();
+        if (level == BITS)
+            newParent[childIndex] = leaf;
+        else {
+            Object child = parent[childIndex];
+            newParent[childIndex] = child == null ? newPath(level - BITS, leaf) : pushLeaf(level - BITS, (Object[]) child, leaf);
+        }
+        return newParent;
+    }
+
+    /**
+     * Create a chain of internal nodes leading down to a leaf.
+     *
+     * @param level The shift of the first node in the chain.
+     * @param leaf  The leaf at the bottom of the chain.
+     * @return The top of the chain, or the leaf itself if the level is zero.
+     */
+    private static Object newPath(int level, Value[] leaf) {
+        if (level == 0)
+            return leaf;
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+}
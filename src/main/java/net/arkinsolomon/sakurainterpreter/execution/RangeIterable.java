@@ -44,12 +44,43 @@ public final class RangeIterable implements Iterable {
             throw new SakuraException("Range function step can not be zero");
     }
 
+    /**
+     * Get the amount of values in this range, if it can be determined without iterating.
+     *
+     * @return The amount of values in this range, or -1 if the step is negative and the range never ends.
+     */
+    public long size() {
+        if (start >= end)
+            return 0;
+        else if (step < 0)
+            return -1;
+        return ((long) end - start + step - 1) / step;
+    }
+
+    /**
+     * Get the first value of this range.
+     *
+     * @return The value this range starts at.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Get the difference between consecutive values of this range.
+     *
+     * @return The step of this range.
+     */
+    public int getStep() {
+        return step;
+    }
+
     @Override
     public Value next() {
         current += step;
         if (current >= end)
             return null;
-        return new Value(DataType.NUMBER, (double) current, false);
+        return Value.ofNumber(current);
     }
 
     @Override
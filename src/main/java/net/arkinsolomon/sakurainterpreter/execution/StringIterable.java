@@ -35,9 +35,9 @@ public class StringIterable implements Iterable {
         if (currentPos >= str.length())
             return null;
 
-        String returnVal = String.valueOf(str.charAt(currentPos));
+        char returnVal = str.charAt(currentPos);
         currentPos++;
-        return new Value(DataType.STRING, returnVal, false);
+        return Value.ofChar(returnVal);
     }
 
     @Override
@@ -15,15 +15,16 @@
 
 package net.arkinsolomon.sakurainterpreter.execution;
 
+import net.arkinsolomon.sakurainterpreter.functions.Function;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
-import net.arkinsolomon.sakurainterpreter.parser.EarlyReturnType;
 
 /**
- * The result of executing a bit of code.
+ * A function call in tail position which has been evaluated, but not yet executed. The calling function returns first, and then executes the call in its place, so that tail recursion does not grow the stack.
  *
- * @param earlyReturnType The type of the early return. None if there was not an early return.
- * @param returnValue The return value of the early return.
- * @param returner The token that started the return.
+ * @param identifier The identifier of the function being called.
+ * @param function   The function being called.
+ * @param args       The evaluated arguments of the call.
+ * @param token      The token of the call, used for error reporting.
  */
-public record ExecutionResult(EarlyReturnType earlyReturnType, Value returnValue, Token returner) {
+public record TailCall(String identifier, Function function, Value[] args, Token token) {
 }
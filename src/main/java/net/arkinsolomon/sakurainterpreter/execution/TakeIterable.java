@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * An iterable which stops after a certain amount of values of another iterable, without reading any further values from it.
+ */
+public final class TakeIterable implements Iterable {
+
+    private final Iterable source;
+    private final int count;
+    private int taken = 0;
+
+    /**
+     * Create a new iterable which takes values from the start of another iterable.
+     *
+     * @param source The iterable to take values from.
+     * @param count  The maximum amount of values to take.
+     */
+    public TakeIterable(Iterable source, int count) {
+        this.source = source;
+        this.count = count;
+    }
+
+    @Override
+    public Value next() {
+        if (taken >= count)
+            return null;
+
+        Value value = source.next();
+        if (value != null)
+            taken++;
+        return value;
+    }
+
+    @Override
+    public Iterable copy() {
+        return new TakeIterable(source.copy(), count);
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+}
@@ -15,21 +15,200 @@
 
 package net.arkinsolomon.sakurainterpreter.execution;
 
-import com.google.errorprone.annotations.Var;
 import java.io.File;
+import java.util.Objects;
 import net.arkinsolomon.sakurainterpreter.operations.Operation;
 
 /**
- * A single value, consisting of its type and actual value.
- *
- * @param type      The type of the variable.
- * @param value     The value of the variable.
- * @param isMutable True if the variable is mutable.
+ * A single immutable value, consisting of its type and actual value. Numbers are stored as a primitive and are only boxed when {@link #value()} is called, use {@link #numberValue()} to read them without allocating. Values carry no mutability, whether a variable can be reassigned is stored by its binding in the {@link ExecutionContext}, so values can be shared freely.
  */
-public record Value(DataType type, Object value, boolean isMutable) {
-    public static final Value NULL = new Value(DataType.NULL, null, false);
-    public static final Value TRUE = new Value(DataType.BOOLEAN, true, false);
-    public static final Value FALSE = new Value(DataType.BOOLEAN, false, false);
+public final class Value {
+    public static final Value NULL = new Value(DataType.NULL, null);
+    public static final Value TRUE = new Value(DataType.BOOLEAN, true);
+    public static final Value FALSE = new Value(DataType.BOOLEAN, false);
+
+    private static final int MIN_CONCAT_LENGTH = 64;
+
+    private final DataType type;
+    private final Object value;
+    private final double number;
+
+    /**
+     * Create a new value.
+     *
+     * @param type  The type of the variable.
+     * @param value The value of the variable.
+     */
+    public Value(DataType type, Object value) {
+        this.type = type;
+
+        if (type == DataType.NUMBER) {
+            if (!(value instanceof Number))
+                throw new IllegalArgumentException("The value of a number must be a number");
+            this.value = null;
+            number = ((Number) value).doubleValue();
+        } else {
+            this.value = value;
+            number = 0;
+        }
+    }
+
+    /**
+     * Create a new value.
+     *
+     * @param type      The type of the variable.
+     * @param value     The value of the variable.
+     * @param isMutable Ignored, mutability is a property of the binding that holds the value.
+     * @deprecated Use {@link #Value(DataType, Object)} instead.
+     */
+    @Deprecated
+    public Value(DataType type, Object value, boolean isMutable) {
+        this(type, value);
+    }
+
+    /**
+     * Create a new number without boxing it.
+     *
+     * @param number The value of the number.
+     */
+    private Value(double number) {
+        type = DataType.NUMBER;
+        value = null;
+        this.number = number;
+    }
+
+    /**
+     * Create an immutable number value. Integral numbers between -1024 and 65535 are shared.
+     *
+     * @param number The value of the number.
+     * @return The value of type number, which is shared for small integers.
+     */
+    public static Value ofNumber(double number) {
+        Value cached = ValueCache.number(number);
+        return cached != null ? cached : new Value(number);
+    }
+
+    /**
+     * Create a number value without checking the cache, used by {@link ValueCache} to fill itself.
+     *
+     * @param number The value of the number.
+     * @return A new value of type number.
+     */
+    static Value createNumber(double number) {
+        return new Value(number);
+    }
+
+    /**
+     * Get the canonical value of a boolean.
+     *
+     * @param value The boolean to get the value of.
+     * @return Either {@link #TRUE} or {@link #FALSE}.
+     */
+    public static Value ofBoolean(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Create an immutable string value. The empty string and single Latin-1 characters are shared.
+     *
+     * @param str The value of the string.
+     * @return The value of type string.
+     */
+    public static Value ofString(String str) {
+        if (str.isEmpty())
+            return ValueCache.EMPTY_STRING;
+        if (str.length() == 1) {
+            Value cached = ValueCache.character(str.charAt(0));
+            if (cached != null)
+                return cached;
+        }
+        return new Value(DataType.STRING, str);
+    }
+
+    /**
+     * Create a string value containing a single character. Latin-1 characters are shared.
+     *
+     * @param c The character.
+     * @return The value of type string.
+     */
+    public static Value ofChar(char c) {
+        Value cached = ValueCache.character(c);
+        return cached != null ? cached : new Value(DataType.STRING, String.valueOf(c));
+    }
+
+    /**
+     * Concatenate a string to the end of this string. Long strings are concatenated into a shared builder, so repeatedly appending to the result is amortized constant time, and the string is only flattened once it is read.
+     *
+     * @param suffix The string to append.
+     * @return A new string value of this string followed by the suffix.
+     */
+    public Value concat(String suffix) {
+        if (type != DataType.STRING)
+            throw new IllegalStateException("Value of type \"%s\" is not a string".formatted(type));
+
+        if (value instanceof ConcatString)
+            return new Value(DataType.STRING, ((ConcatString) value).append(suffix));
+
+        var str = (String) value;
+        if (str.length() + suffix.length() < MIN_CONCAT_LENGTH)
+            return ofString(str.concat(suffix));
+        return new Value(DataType.STRING, ConcatString.of(str, suffix));
+    }
+
+    /**
+     * Get the type of the variable.
+     *
+     * @return The type of the variable.
+     */
+    public DataType type() {
+        return type;
+    }
+
+    /**
+     * Get the value of the variable. Numbers are boxed into a {@link Double}.
+     *
+     * @return The value of the variable.
+     */
+    public Object value() {
+        if (type == DataType.NUMBER)
+            return number;
+        else if (value instanceof ConcatString)
+            return value.toString();
+        return value;
+    }
+
+    /**
+     * Check if the variable is mutable.
+     *
+     * @return Always false, mutability is a property of the binding that holds the value.
+     * @deprecated Use {@link ExecutionContext#isIdentifierMutable(String)} instead.
+     */
+    @Deprecated
+    public boolean isMutable() {
+        return false;
+    }
+
+    /**
+     * Get the value of a number without boxing it.
+     *
+     * @return The primitive value of this number.
+     */
+    public double numberValue() {
+        if (type != DataType.NUMBER)
+            throw new IllegalStateException("Value of type \"%s\" is not a number".formatted(type));
+        return number;
+    }
+
+    /**
+     * Get the value of a boolean.
+     *
+     * @return The primitive value of this boolean.
+     */
+    public boolean booleanValue() {
+        if (type != DataType.BOOLEAN)
+            throw new IllegalStateException("Value of type \"%s\" is not a boolean".formatted(type));
+        return (Boolean) value;
+    }
 
     /**
      * Get the string representation of the data of this value.
@@ -38,34 +217,52 @@ public record Value(DataType type, Object value, boolean isMutable) {
      */
     @Override
     public String toString() {
-        if (type == DataType.NULL || value == null)
+        if (type == DataType.NUMBER) {
+            if ((int) number == number)
+                return String.valueOf((int) number);
+            return String.valueOf(number);
+        } else if (type == DataType.NULL || value == null)
             return "NULL";
         else if (type == DataType.ITERABLE)
             return "<iterable>";
+        else if (type == DataType.MAP)
+            return "<map>";
         else if (type == DataType.FUNCTION)
             return "<function>";
-        else if (type == DataType.__BRACE_RETURN)
-            return "<_brace return_>";
         else if (type == DataType.PATH)
             return Operation.getFilePathStr((File) value);
-        else if (type == DataType.NUMBER) {
-            double val = (Double) value;
-            if ((int) val == val)
-                return String.valueOf((int) val);
-        }
         return value.toString();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Value other))
+            return false;
+
+        if (type != other.type)
+            return false;
+        if (type == DataType.NUMBER)
+            return Double.doubleToLongBits(number) == Double.doubleToLongBits(other.number);
+        return Objects.equals(value(), other.value());
+    }
+
+    @Override
+    public int hashCode() {
+        int valueHash = type == DataType.NUMBER ? Double.hashCode(number) : Objects.hashCode(value());
+        return 31 * type.hashCode() + valueHash;
+    }
+
     /**
      * Change if a value is mutable.
      *
-     * @param isMutable The new mutability value.
-     * @return A new value with the same datatype and value, except with the new mutability value.
+     * @param isMutable Ignored, mutability is a property of the binding that holds the value.
+     * @return This value, since values are immutable and can be shared.
+     * @deprecated Values no longer carry mutability, pass it to {@link ExecutionContext#defineIdentifier(String, Value, boolean)} instead.
      */
+    @Deprecated
     public Value setMutability(boolean isMutable) {
-        @Var Object val = value;
-        if (type == DataType.ITERABLE)
-            val = ((Iterable) value).copy();
-        return new Value(type, val, isMutable);
+        return this;
     }
 }
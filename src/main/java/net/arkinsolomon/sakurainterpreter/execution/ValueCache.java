@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * Canonical instances of common values, so that nodes and iterables producing them do not allocate. Since values are immutable, any cached instance can be shared between contexts and threads.
+ */
+final class ValueCache {
+    static final int MIN_CACHED_NUMBER = -1024;
+    static final int MAX_CACHED_NUMBER = 65535;
+    private static final int MAX_CACHED_CHAR = 0xFF;
+
+    static final Value EMPTY_STRING = new Value(DataType.STRING, "");
+
+    private static final Value[] NUMBERS = new Value[MAX_CACHED_NUMBER - MIN_CACHED_NUMBER + 1];
+    private static final Value[] CHARS = new Value[MAX_CACHED_CHAR + 1];
+
+    static {
+        for (int i = 0; i < CHARS.length; i++)
+            CHARS[i] = new Value(DataType.STRING, String.valueOf((char) i));
+    }
+
+    private ValueCache() {
+    }
+
+    /**
+     * Get the canonical value of a number, if it is cached. Cache slots are filled on first use, racing threads may create duplicate instances, which is harmless since values are immutable.
+     *
+     * @param number The number to get the value of.
+     * @return The cached value, or null if the number is not integral, negative zero, or out of range.
+     */
+    static Value number(double number) {
+        int intValue = (int) number;
+        if (intValue != number || intValue < MIN_CACHED_NUMBER || intValue > MAX_CACHED_NUMBER || (intValue == 0 && Double.doubleToRawLongBits(number) != 0))
+            return null;
+
+        int index = intValue - MIN_CACHED_NUMBER;
+        Value value = NUMBERS[index];
+        if (value == null) {
+            value = Value.createNumber(intValue);
+            NUMBERS[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Get the canonical value of a single character string, if it is cached.
+     *
+     * @param c The character to get the value of.
+     * @return The cached value, or null if the character is not a Latin-1 character.
+     */
+    static Value character(char c) {
+        return c <= MAX_CACHED_CHAR ? CHARS[c] : null;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+
+import java.util.List;
+
+/**
+ * An immutable map of values to values, which remembers the order that keys were inserted in. Entries are stored in a
+ * {@link PersistentHashMap}, and the keys in a {@link PersistentVector}, so setting a key shares structure with the
+ * original map instead of copying it.
+ */
+public final class ValueMap {
+
+    /**
+     * A map with no entries.
+     */
+    public static final ValueMap EMPTY = new ValueMap(PersistentVector.EMPTY, PersistentHashMap.EMPTY);
+
+    private final PersistentVector keys;
+    private final PersistentHashMap entries;
+    private int hash;
+
+    /**
+     * Create a new map.
+     *
+     * @param keys    The keys of the map, in insertion order.
+     * @param entries The entries of the map.
+     */
+    private ValueMap(PersistentVector keys, PersistentHashMap entries) {
+        this.keys = keys;
+        this.entries = entries;
+    }
+
+    /**
+     * Create a new map from alternating keys and values. Later entries replace earlier ones with the same key.
+     *
+     * @param keysAndValues A list of keys, each followed by its value.
+     * @return A new map containing the entries.
+     * @throws SakuraException Thrown if a key is missing its value.
+     */
+    public static ValueMap of(List<Value> keysAndValues) {
+        if (keysAndValues.size() % 2 != 0)
+            throw new SakuraException("Every key in a map must be followed by a value.");
+
+        @Var ValueMap map = EMPTY;
+        for (int i = 0; i < keysAndValues.size(); i += 2)
+            map = map.set(keysAndValues.get(i), keysAndValues.get(i + 1));
+        return map;
+    }
+
+    /**
+     * Get the number of entries in this map.
+     *
+     * @return The number of entries in this map.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the value associated with a key.
+     *
+     * @param key The key to get the value of.
+     * @return The value associated with the key, or null if the key is not in the map.
+     */
+    public Value get(Value key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Check if a key is in this map.
+     *
+     * @param key The key to check for.
+     * @return True if the key is in this map.
+     */
+    public boolean has(Value key) {
+        return entries.get(key) != null;
+    }
+
+    /**
+     * Create a new map with a key set to a value. This map is not modified.
+     *
+     * @param key   The key to set.
+     * @param value The value to associate with the key.
+     * @return A new map containing the entries of this map, along with the new entry.
+     */
+    public ValueMap set(Value key, Value value) {
+        PersistentHashMap newEntries = entries.put(key, value);
+        if (newEntries == entries)
+            return this;
+        return new ValueMap(newEntries.size() > entries.size() ? keys.append(key) : keys, newEntries);
+    }
+
+    /**
+     * Get the keys of this map, in insertion order.
+     *
+     * @return A new list of the keys of this map, which shares its elements with the map.
+     */
+    public ListIterable keys() {
+        return new ListIterable(keys);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ValueMap other) || size() != other.size())
+            return false;
+
+        for (int i = 0; i < keys.size(); i++) {
+            Value key = keys.get(i);
+            if (!entries.get(key).equals(other.entries.get(key)))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            @Var int h = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                Value key = keys.get(i);
+                h += key.hashCode() ^ entries.get(key).hashCode();
+            }
+            hash = h;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0)
+                sb.append(", ");
+            Value key = keys.get(i);
+            sb.append(key).append(": ").append(entries.get(key));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.execution;
+
+/**
+ * An iterable which lazily combines several iterables, producing a list of their next values each step. It stops as soon as any of them ends.
+ */
+public final class ZipIterable implements Iterable {
+
+    private final Iterable[] sources;
+
+    /**
+     * Create a new iterable which combines other iterables.
+     *
+     * @param sources The iterables to combine.
+     */
+    public ZipIterable(Iterable[] sources) {
+        this.sources = sources;
+    }
+
+    @Override
+    public Value next() {
+        var values = new Value[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            values[i] = sources[i].next();
+            if (values[i] == null)
+                return null;
+        }
+        return new Value(DataType.ITERABLE, new ListIterable(values));
+    }
+
+    @Override
+    public Iterable copy() {
+        var copies = new Iterable[sources.length];
+        for (int i = 0; i < sources.length; i++)
+            copies[i] = sources[i].copy();
+        return new ZipIterable(copies);
+    }
+
+    @Override
+    public void close() {
+        for (Iterable source : sources)
+            source.close();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * Helpers shared by the built-in functions which consume a whole iterable, like aggregates and sorting.
+ */
+final class Aggregation {
+
+    private Aggregation() {
+    }
+
+    /**
+     * Get a fresh iterable over the first argument of a function.
+     *
+     * @param args The arguments passed to the function.
+     * @param name The name of the function, for error messages.
+     * @return A new iterable over the first argument.
+     * @throws SakuraException Thrown if there is no first argument, or it can not be iterated over.
+     */
+    static Iterable iterableArg(List<Value> args, String name) {
+        if (args.size() == 0)
+            throw new SakuraException("The \"%s()\" function requires at least one parameter.".formatted(name));
+
+        Iterable iterable = Iterable.from(args.get(0));
+        if (iterable == null)
+            throw new SakuraException("The first parameter to \"%s()\" needs to be iterable.".formatted(name));
+        return iterable;
+    }
+
+    /**
+     * Get the optional callback, like a predicate or comparator, passed as the second argument of a function.
+     *
+     * @param args The arguments passed to the function.
+     * @param name The name of the function, for error messages.
+     * @return The callback, or null if none was passed.
+     * @throws SakuraException Thrown if the second argument is not a function.
+     */
+    static Function callbackArg(List<Value> args, String name) {
+        if (args.size() < 2)
+            return null;
+        if (args.get(1).type() != DataType.FUNCTION)
+            throw new SakuraException("The second parameter to \"%s()\" needs to be a function.".formatted(name));
+        return (Function) args.get(1).value();
+    }
+
+    /**
+     * Test a value, either directly if it is a boolean, or with a predicate.
+     *
+     * @param value     The value to test.
+     * @param predicate The predicate to call with the value, or null to test the value itself.
+     * @param ctx       The context to call the predicate from.
+     * @param name      The name of the function, for error messages.
+     * @return The boolean result of the test.
+     * @throws SakuraException Thrown if the value or the result of the predicate is not a boolean.
+     */
+    static boolean test(Value value, Function predicate, ExecutionContext ctx, String name) {
+        Value result = predicate == null ? value : ctx.executeFunc("<%s callback>".formatted(name), predicate, new Value[]{value});
+        if (result.type() != DataType.BOOLEAN)
+            throw new SakuraException("The \"%s()\" function can only test booleans, but got a value of type \"%s\".".formatted(name, result.type()));
+        return result.booleanValue();
+    }
+
+    /**
+     * Get the number of a value being reduced.
+     *
+     * @param value The value.
+     * @param name  The name of the function, for error messages.
+     * @return The number of the value.
+     * @throws SakuraException Thrown if the value is not a number.
+     */
+    static double numberOf(Value value, String name) {
+        if (value.type() != DataType.NUMBER)
+            throw new SakuraException("The \"%s()\" function can only be used with numbers, but got a value of type \"%s\".".formatted(name, value.type()));
+        return value.numberValue();
+    }
+
+    /**
+     * Check if a list of numbers is large enough to be processed in parallel.
+     *
+     * @param size The amount of numbers in the list.
+     * @param ctx  The context the function is executed in.
+     * @return True if the list should be processed in parallel.
+     */
+    static boolean isParallel(int size, ExecutionContext ctx) {
+        int threshold = ctx.getExecutionConfig().getParallelThreshold();
+        return threshold > 0 && size >= threshold;
+    }
+}
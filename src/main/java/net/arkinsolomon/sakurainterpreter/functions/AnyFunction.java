@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to check if any value of an iterable is true, or if an optional predicate returns true for any value. It stops at the first match.
+ */
+public final class AnyFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        Iterable iterable = Aggregation.iterableArg(args, "any");
+        Function predicate = Aggregation.callbackArg(args, "any");
+
+        try {
+            for (Value value = iterable.next(); value != null; value = iterable.next())
+                if (Aggregation.test(value, predicate, ctx, "any"))
+                    return Value.TRUE;
+            return Value.FALSE;
+        } finally {
+            iterable.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to create a new list with values added to the end of an existing list.
+ */
+public final class AppendFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() == 0)
+            throw new SakuraException("The \"append()\" function requires at least one parameter.");
+
+        if (!(args.get(0).value() instanceof ListIterable list))
+            throw new SakuraException("The first parameter to \"append()\" needs to be a list.");
+
+        return new Value(DataType.ITERABLE, list.append(args.subList(1, args.size())));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
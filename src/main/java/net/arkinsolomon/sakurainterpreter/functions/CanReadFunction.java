@@ -38,6 +38,6 @@ public final class CanReadFunction implements Function {
         var checkFile = (File) args.get(0).value();
 
         boolean canRead = ctx.getOperationConfig().isValidReadPath(checkFile);
-        return new Value(DataType.BOOLEAN, canRead, false);
+        return Value.ofBoolean(canRead);
     }
 }
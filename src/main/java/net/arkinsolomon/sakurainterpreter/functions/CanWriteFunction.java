@@ -38,6 +38,6 @@ public final class CanWriteFunction implements Function {
         var checkFile = (File) args.get(0).value();
 
         boolean canWrite = ctx.getOperationConfig().isValidWritePath(checkFile);
-        return new Value(DataType.BOOLEAN, canWrite, false);
+        return Value.ofBoolean(canWrite);
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to check if a string contains another string.
+ */
+public final class ContainsFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"contains()\" function requires two parameters.");
+        else if (args.get(0).type() != DataType.STRING || args.get(1).type() != DataType.STRING)
+            throw new SakuraException("Both parameters to \"contains()\" need to be of type string.");
+
+        var str = (String) args.get(0).value();
+        return Value.ofBoolean(str.contains((String) args.get(1).value()));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.RangeIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to count the values of an iterable, or only the values for which an optional predicate returns true. Lists and ranges are counted without iterating when there is no predicate.
+ */
+public final class CountFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        Iterable iterable = Aggregation.iterableArg(args, "count");
+        Function predicate = Aggregation.callbackArg(args, "count");
+
+        if (predicate == null) {
+            if (iterable instanceof ListIterable list)
+                return Value.ofNumber(list.size());
+            else if (iterable instanceof RangeIterable range && range.size() >= 0)
+                return Value.ofNumber(range.size());
+        }
+
+        @Var long count = 0;
+        try {
+            for (Value value = iterable.next(); value != null; value = iterable.next())
+                if (predicate == null || Aggregation.test(value, predicate, ctx, "count"))
+                    count++;
+        } finally {
+            iterable.close();
+        }
+        return Value.ofNumber(count);
+    }
+}
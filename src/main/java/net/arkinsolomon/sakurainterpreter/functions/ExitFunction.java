@@ -43,7 +43,7 @@ public final class ExitFunction implements Function {
             if (firstArg.type() != DataType.NUMBER)
                 throw new SakuraException("The first argument of the \"exit()\" (if provided) must be a number");
 
-            code = (byte) ((double) firstArg.value());
+            code = (byte) firstArg.numberValue();
         }
 
         if (args.size() >= 2){
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * A function to get the first part of a string which matches a regular expression, or null if no part of it matches.
+ */
+public final class FindFunction implements Function {
+
+    private final PatternCache patterns = new PatternCache();
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2 || args.get(0).type() != DataType.STRING)
+            throw new SakuraException("The \"find()\" function requires a string and a regular expression.");
+
+        var str = (String) args.get(0).value();
+        Matcher matcher = patterns.patternArg(args, 1, "find", ctx).matcher(str);
+        return matcher.find() ? Value.ofString(matcher.group()) : Value.NULL;
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+/**
+ * A function which renders a template, replacing "{}" with the next argument, and "{n}" with the nth argument after the template. Braces are escaped by doubling them. Templates are compiled once, and then reused for every call with the same template.
+ */
+public final class FormatFunction implements Function {
+
+    private static final int MAX_CACHED_TEMPLATES = 64;
+
+    private final Map<String, Template> templates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() == 0 || args.get(0).type() != DataType.STRING)
+            throw new SakuraException("Format function requires a template string as its first argument.");
+
+        var templateStr = (String) args.get(0).value();
+        @Var Template template;
+        synchronized (templates) {
+            template = templates.get(templateStr);
+            if (template == null) {
+                template = Template.compile(templateStr);
+                templates.put(templateStr, template);
+            }
+        }
+
+        return Value.ofString(template.render(args));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    /**
+     * A compiled template.
+     *
+     * @param literals    The literal text before each placeholder, with one extra entry for the text after the last placeholder.
+     * @param argIndices  The index of the argument of each placeholder, counting the template as index zero.
+     * @param literalSize The total length of all literal text.
+     */
+    private record Template(String[] literals, int[] argIndices, int literalSize) {
+
+        /**
+         * Compile a template.
+         *
+         * @param template The template to compile.
+         * @return The compiled template.
+         */
+        static Template compile(String template) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> argIndices = new ArrayList<>();
+            var literal = new StringBuilder();
+            @Var int literalSize = 0;
+            @Var int nextIndex = 1;
+
+            for (int i = 0; i < template.length(); i++) {
+                char c = template.charAt(i);
+                if (c == '}') {
+                    if (i + 1 >= template.length() || template.charAt(i + 1) != '}')
+                        throw new SakuraException("Unmatched \"}\" in format template at position %d, use \"}}\" for a literal brace.".formatted(i));
+                    literal.append('}');
+                    i++;
+                    continue;
+                } else if (c != '{') {
+                    literal.append(c);
+                    continue;
+                }
+
+                if (i + 1 < template.length() && template.charAt(i + 1) == '{') {
+                    literal.append('{');
+                    i++;
+                    continue;
+                }
+
+                int close = template.indexOf('}', i);
+                if (close == -1)
+                    throw new SakuraException("Unclosed \"{\" in format template at position %d.".formatted(i));
+
+                String placeholder = template.substring(i + 1, close).trim();
+                if (placeholder.isEmpty())
+                    argIndices.add(nextIndex++);
+                else {
+                    try {
+                        argIndices.add(Integer.parseInt(placeholder) + 1);
+                    } catch (NumberFormatException e) {
+                        throw new SakuraException("Invalid format placeholder \"{%s}\", placeholders must be empty or an argument index.".formatted(placeholder));
+                    }
+                }
+
+                literalSize += literal.length();
+                literals.add(literal.toString());
+                literal.setLength(0);
+                i = close;
+            }
+
+            literalSize += literal.length();
+            literals.add(literal.toString());
+            return new Template(literals.toArray(String[]::new), argIndices.stream().mapToInt(Integer::intValue).toArray(), literalSize);
+        }
+
+        /**
+         * Render this template with arguments.
+         *
+         * @param args The arguments of the format call, including the template itself at index zero.
+         * @return The rendered string.
+         */
+        String render(List<Value> args) {
+            var builder = new StringBuilder(literalSize + argIndices.length * 8);
+            for (int i = 0; i < argIndices.length; i++) {
+                int argIndex = argIndices[i];
+                if (argIndex < 1 || argIndex >= args.size())
+                    throw new SakuraException("Format template references argument %d, but only %d were provided.".formatted(argIndex - 1, args.size() - 1));
+
+                builder.append(literals[i]).append(args.get(argIndex));
+            }
+            return builder.append(literals[argIndices.length]).toString();
+        }
+    }
+}
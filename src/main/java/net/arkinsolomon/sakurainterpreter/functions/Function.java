@@ -18,6 +18,7 @@ package net.arkinsolomon.sakurainterpreter.functions;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -33,4 +34,24 @@ public interface Function {
      * @return The result of the function.
      */
     Value execute(List<Value> args, ExecutionContext ctx);
+
+    /**
+     * Execute a function with its arguments in an array. This is the path used by function calls, functions which can bind their arguments without a list should override it. By default, the array is wrapped in a list without copying.
+     *
+     * @param args The argument values.
+     * @param ctx The execution context of the function.
+     * @return The result of the function.
+     */
+    default Value execute(Value[] args, ExecutionContext ctx) {
+        return execute(Arrays.asList(args), ctx);
+    }
+
+    /**
+     * Check if this function is pure, meaning that it has no side effects, and always returns an equal value for equal arguments. Calls to pure functions may be skipped by memoization.
+     *
+     * @return True if the function is pure.
+     */
+    default boolean isPure() {
+        return false;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.execution.ValueMap;
+
+import java.util.List;
+
+/**
+ * A function to get the element of a list at an index, or the value associated with a key in a map. Getting a key that
+ * is not in a map returns the optional third parameter, or null.
+ */
+public final class GetFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"get()\" function requires at least two parameters.");
+
+        if (args.get(0).value() instanceof ValueMap map) {
+            Value value = map.get(args.get(1));
+            if (value != null)
+                return value;
+            return args.size() > 2 ? args.get(2) : Value.NULL;
+        }
+
+        if (!(args.get(0).value() instanceof ListIterable list))
+            throw new SakuraException("The first parameter to \"get()\" needs to be a list or a map.");
+        if (args.get(1).type() != DataType.NUMBER)
+            throw new SakuraException("The second parameter to \"get()\" needs to be of type number.");
+
+        return list.get((int) Math.floor(args.get(1).numberValue()));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
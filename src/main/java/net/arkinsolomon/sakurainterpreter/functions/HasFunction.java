@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.execution.ValueMap;
+
+import java.util.List;
+
+/**
+ * A function to check if a key is in a map.
+ */
+public final class HasFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"has()\" function requires two parameters.");
+        if (!(args.get(0).value() instanceof ValueMap map))
+            throw new SakuraException("The first parameter to \"has()\" needs to be a map.");
+
+        return Value.ofBoolean(map.has(args.get(1)));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to find the first index of a substring within a string, optionally starting from an index.
+ */
+public final class IndexOfFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"indexOf()\" function requires at least two parameters.");
+        else if (args.get(0).type() != DataType.STRING || args.get(1).type() != DataType.STRING)
+            throw new SakuraException("The first two parameters to \"indexOf()\" need to be of type string.");
+
+        var str = (String) args.get(0).value();
+        var search = (String) args.get(1).value();
+
+        @Var int from = 0;
+        if (args.size() > 2) {
+            if (args.get(2).type() != DataType.NUMBER)
+                throw new SakuraException("The third parameter to \"indexOf()\" needs to be of type number.");
+            from = (int) Math.floor(args.get(2).numberValue());
+        }
+
+        return Value.ofNumber(str.indexOf(search, from));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -26,6 +26,18 @@ public final class ListFunction implements Function{
 
     @Override
     public Value execute(List<Value> args, ExecutionContext ctx) {
-        return new Value(DataType.ITERABLE, new ListIterable(args), false);
+        if (args.stream().allMatch(v -> v.type() == DataType.NUMBER)) {
+            double[] numbers = new double[args.size()];
+            for (int i = 0; i < numbers.length; i++)
+                numbers[i] = args.get(i).numberValue();
+            return new Value(DataType.ITERABLE, ListIterable.ofNumbers(numbers, ctx.getExecutionConfig().getOffHeapListThreshold()));
+        }
+
+        return new Value(DataType.ITERABLE, new ListIterable(args));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
     }
 }
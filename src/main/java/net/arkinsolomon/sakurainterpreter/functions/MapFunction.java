@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.MapIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to lazily apply a function to every value of an iterable. The function is only called as the result is iterated over.
+ */
+public final class MapFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"map()\" function requires two parameters.");
+
+        Iterable source = Iterable.from(args.get(0));
+        if (source == null)
+            throw new SakuraException("The first parameter to \"map()\" needs to be iterable.");
+        if (args.get(1).type() != DataType.FUNCTION)
+            throw new SakuraException("The second parameter to \"map()\" needs to be a function.");
+
+        return new Value(DataType.ITERABLE, new MapIterable(source, (Function) args.get(1).value(), ctx));
+    }
+}
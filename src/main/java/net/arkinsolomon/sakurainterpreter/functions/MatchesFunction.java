@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to check if an entire string matches a regular expression.
+ */
+public final class MatchesFunction implements Function {
+
+    private final PatternCache patterns = new PatternCache();
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2 || args.get(0).type() != DataType.STRING)
+            throw new SakuraException("The \"matches()\" function requires a string and a regular expression.");
+
+        var str = (String) args.get(0).value();
+        return Value.ofBoolean(patterns.patternArg(args, 1, "matches", ctx).matcher(str).matches());
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
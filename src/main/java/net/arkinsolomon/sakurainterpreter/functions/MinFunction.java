@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.RangeIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+import java.util.stream.DoubleStream;
+
+/**
+ * A function to get the smallest number of an iterable, or null if it is empty. Ranges are handled in closed form, and large numeric lists can be searched in parallel.
+ */
+public final class MinFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        Iterable iterable = Aggregation.iterableArg(args, "min");
+
+        if (iterable instanceof RangeIterable range && range.size() >= 0) {
+            long n = range.size();
+            if (n == 0)
+                return Value.NULL;
+            return Value.ofNumber(range.getStart());
+        }
+
+        if (iterable instanceof ListIterable list && list.isNumeric()) {
+            if (list.size() == 0)
+                return Value.NULL;
+
+            @Var DoubleStream numbers = list.numberStream();
+            if (Aggregation.isParallel(list.size(), ctx))
+                numbers = numbers.parallel();
+            return Value.ofNumber(numbers.min().getAsDouble());
+        }
+
+        try {
+            @Var Value value = iterable.next();
+            if (value == null)
+                return Value.NULL;
+
+            @Var double result = Aggregation.numberOf(value, "min");
+            for (value = iterable.next(); value != null; value = iterable.next())
+                result = Math.min(result, Aggregation.numberOf(value, "min"));
+            return Value.ofNumber(result);
+        } finally {
+            iterable.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionStatistics;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled regular expressions used by a regex built-in function. String literals evaluate to the
+ * same string instance every time, so each literal call site claims a slot in a small table compared by identity, and
+ * finds its pattern without hashing. Other patterns are kept in a bounded least-recently-used cache.
+ */
+final class PatternCache {
+
+    private static final int MAX_CACHED_PATTERNS = 64;
+    private static final int SITE_SLOTS = 16;
+
+    private final Entry[] sites = new Entry[SITE_SLOTS];
+    private final Map<String, Pattern> patterns = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > MAX_CACHED_PATTERNS;
+        }
+    };
+
+    /**
+     * Get the compiled pattern passed as an argument of a regex function.
+     *
+     * @param args  The arguments passed to the function.
+     * @param index The index of the pattern argument.
+     * @param name  The name of the function, for error messages.
+     * @param ctx   The context the function is executed in.
+     * @return The compiled pattern.
+     * @throws SakuraException Thrown if the argument is not a string, or is not a valid regular expression.
+     */
+    Pattern patternArg(List<Value> args, int index, String name, ExecutionContext ctx) {
+        if (args.size() <= index || args.get(index).type() != DataType.STRING)
+            throw new SakuraException("The \"%s()\" function requires a regular expression string as parameter %d.".formatted(name, index + 1));
+
+        var regex = (String) args.get(index).value();
+        ExecutionStatistics statistics = ctx.getStatistics();
+        int slot = System.identityHashCode(regex) & (SITE_SLOTS - 1);
+        Entry site = sites[slot];
+        if (site != null && site.regex() == regex) {
+            statistics.recordPatternCacheHit();
+            return site.pattern();
+        }
+
+        @Var Pattern pattern;
+        synchronized (patterns) {
+            pattern = patterns.get(regex);
+            if (pattern == null) {
+                statistics.recordPatternCacheMiss();
+                try {
+                    pattern = Pattern.compile(regex);
+                } catch (PatternSyntaxException e) {
+                    throw new SakuraException("Invalid regular expression passed to \"%s()\": %s".formatted(name, e.getDescription()), e);
+                }
+                patterns.put(regex, pattern);
+            } else
+                statistics.recordPatternCacheHit();
+        }
+
+        sites[slot] = new Entry(regex, pattern);
+        return pattern;
+    }
+
+    /**
+     * A pattern cached for a call site.
+     *
+     * @param regex   The exact string instance the pattern was compiled from.
+     * @param pattern The compiled pattern.
+     */
+    private record Entry(String regex, Pattern pattern) {
+    }
+}
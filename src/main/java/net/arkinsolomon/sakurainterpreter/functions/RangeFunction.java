@@ -36,28 +36,42 @@ public final class RangeFunction implements Function {
      */
     @Override
     public Value execute(List<Value> args, ExecutionContext ctx) {
+        int[] bounds = getBounds(args);
+        return new Value(DataType.ITERABLE, new RangeIterable(bounds[0], bounds[1], bounds[2]));
+    }
+
+    /**
+     * Get the start, end, and step of a range from the arguments passed to the range function. A single argument is the
+     * end, two arguments are the start and end, and three arguments are the start, end, and step. Any further arguments
+     * are ignored.
+     *
+     * @param args The argument values.
+     * @return An array containing the start, end, and step of the range.
+     */
+    public static int[] getBounds(List<Value> args) {
         if (args.size() == 0)
             throw new SakuraException("Range function requires at least one argument.");
 
-        Integer[] numbers = args
-                .stream()
-                .limit(3)
-                .map(v -> {
-                    if (v == null || v.type() != DataType.NUMBER)
-                        throw new SakuraException("All arguments of range must be a number.");
-
-                    return (int) Math.floor((double) v.value());
-                })
-                .toArray(Integer[]::new);
-
-        RangeIterable i;
-        if (args.size() == 1)
-            i = new RangeIterable(0, numbers[0], 1);
-        else if (args.size() == 2)
-            i = new RangeIterable(numbers[0], numbers[1], 1);
-        else
-            i = new RangeIterable(numbers[0], numbers[1], numbers[2]);
-
-        return new Value(DataType.ITERABLE, i, false);
+        int count = Math.min(args.size(), 3);
+        int[] numbers = new int[count];
+        for (int i = 0; i < count; i++) {
+            Value v = args.get(i);
+            if (v == null || v.type() != DataType.NUMBER)
+                throw new SakuraException("All arguments of range must be a number.");
+            numbers[i] = (int) Math.floor(v.numberValue());
+        }
+
+        if (count == 1)
+            return new int[]{0, numbers[0], 1};
+        else if (count == 2)
+            return new int[]{numbers[0], numbers[1], 1};
+        else if (numbers[2] == 0)
+            throw new SakuraException("Range function step can not be zero");
+        return numbers;
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
     }
 }
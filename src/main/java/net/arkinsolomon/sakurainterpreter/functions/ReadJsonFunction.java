@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.execution.ValueMap;
+import net.arkinsolomon.sakurainterpreter.operations.Operation;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A function to read a JSON file. The file is parsed as a stream of tokens, which are built directly into lists, maps,
+ * strings, numbers, booleans and null, without creating an intermediate document. Arrays of only numbers become
+ * numeric lists.
+ */
+public final class ReadJsonFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() == 0 || args.get(0).type() != DataType.PATH)
+            throw new SakuraException("The \"readJson()\" function requires a path to read.");
+
+        var file = (File) args.get(0).value();
+        if (!ctx.getOperationConfig().isValidReadPath(file))
+            throw new SakuraException("No read permissions for file \"%s\".".formatted(Operation.getFilePathStr(file)));
+
+        var builder = new ValueBuilder(ctx.getExecutionConfig().getOffHeapListThreshold());
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            new JSONParser().parse(reader, builder);
+        } catch (ParseException e) {
+            throw new SakuraException("Invalid JSON in file \"%s\" at position %d.".formatted(Operation.getFilePathStr(file), e.getPosition()), e);
+        } catch (IOException e) {
+            throw new SakuraException("Error reading file \"%s\".".formatted(Operation.getFilePathStr(file)), e);
+        }
+        return builder.result;
+    }
+
+    /**
+     * A handler which builds values as the parser reports tokens.
+     */
+    private static final class ValueBuilder implements ContentHandler {
+
+        private final int offHeapThreshold;
+        private final Deque<List<Value>> containers = new ArrayDeque<>();
+        private Value result = Value.NULL;
+
+        /**
+         * Create a new builder.
+         *
+         * @param offHeapThreshold The length at which numeric lists are stored off-heap.
+         */
+        ValueBuilder(int offHeapThreshold) {
+            this.offHeapThreshold = offHeapThreshold;
+        }
+
+        @Override
+        public void startJSON() {
+            containers.clear();
+            result = Value.NULL;
+        }
+
+        @Override
+        public void endJSON() {
+        }
+
+        @Override
+        public boolean startObject() {
+            containers.push(new ArrayList<>());
+            return true;
+        }
+
+        @Override
+        public boolean endObject() {
+            add(new Value(DataType.MAP, ValueMap.of(containers.pop())));
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(String key) {
+            containers.peek().add(Value.ofString(key));
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            return true;
+        }
+
+        @Override
+        public boolean startArray() {
+            containers.push(new ArrayList<>());
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            List<Value> values = containers.pop();
+            if (!values.isEmpty() && values.stream().allMatch(v -> v.type() == DataType.NUMBER)) {
+                double[] numbers = new double[values.size()];
+                for (int i = 0; i < numbers.length; i++)
+                    numbers[i] = values.get(i).numberValue();
+                add(new Value(DataType.ITERABLE, ListIterable.ofNumbers(numbers, offHeapThreshold)));
+            } else
+                add(new Value(DataType.ITERABLE, new ListIterable(values)));
+            return true;
+        }
+
+        @Override
+        public boolean primitive(Object value) {
+            if (value == null)
+                add(Value.NULL);
+            else if (value instanceof String str)
+                add(Value.ofString(str));
+            else if (value instanceof Boolean bool)
+                add(Value.ofBoolean(bool));
+            else
+                add(Value.ofNumber(((Number) value).doubleValue()));
+            return true;
+        }
+
+        /**
+         * Add a complete value to the innermost array or object, or make it the result if it is not in one. The values of
+         * objects alternate with their keys.
+         *
+         * @param value The value to add.
+         */
+        private void add(Value value) {
+            List<Value> container = containers.peek();
+            if (container == null)
+                result = value;
+            else
+                container.add(value);
+        }
+    }
+}
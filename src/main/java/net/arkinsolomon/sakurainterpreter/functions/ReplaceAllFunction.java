@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * A function to replace every part of a string which matches a regular expression. The replacement may refer to groups of the match, like "$1".
+ */
+public final class ReplaceAllFunction implements Function {
+
+    private final PatternCache patterns = new PatternCache();
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 3 || args.get(0).type() != DataType.STRING)
+            throw new SakuraException("The \"replaceAll()\" function requires a string and a regular expression and a replacement string.");
+        else if (args.get(2).type() != DataType.STRING)
+            throw new SakuraException("The replacement passed to \"replaceAll()\" must be a string.");
+
+        var str = (String) args.get(0).value();
+        Matcher matcher = patterns.patternArg(args, 1, "replaceAll", ctx).matcher(str);
+        try {
+            return Value.ofString(matcher.replaceAll((String) args.get(2).value()));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SakuraException("Invalid replacement passed to \"replaceAll()\": %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to replace every occurrence of a substring within a string. The target is matched literally, not as a pattern.
+ */
+public final class ReplaceFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 3)
+            throw new SakuraException("The \"replace()\" function requires three parameters.");
+        else if (args.get(0).type() != DataType.STRING || args.get(1).type() != DataType.STRING || args.get(2).type() != DataType.STRING)
+            throw new SakuraException("All parameters to \"replace()\" need to be of type string.");
+
+        var str = (String) args.get(0).value();
+        return Value.ofString(str.replace((String) args.get(1).value(), (String) args.get(2).value()));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
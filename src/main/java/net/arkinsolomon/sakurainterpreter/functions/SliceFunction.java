@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to get part of a list, from a start index up to, but not including, an optional end index.
+ */
+public final class SliceFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"slice()\" function requires at least two parameters.");
+
+        if (!(args.get(0).value() instanceof ListIterable list))
+            throw new SakuraException("The first parameter to \"slice()\" needs to be a list.");
+        if (args.get(1).type() != DataType.NUMBER || (args.size() > 2 && args.get(2).type() != DataType.NUMBER))
+            throw new SakuraException("The indices passed to \"slice()\" need to be of type number.");
+
+        int start = (int) Math.floor(args.get(1).numberValue());
+        int end = args.size() > 2 ? (int) Math.floor(args.get(2).numberValue()) : list.size();
+        return new Value(DataType.ITERABLE, list.slice(start, end));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
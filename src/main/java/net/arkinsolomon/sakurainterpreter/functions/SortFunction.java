@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A function to create a sorted list from the values of an iterable. Without a comparator, numbers, strings, and paths
+ * are sorted in their natural order, and every value must be of the same type. A comparator is called with two values,
+ * and returns a negative number, zero, or a positive number if the first value is less than, equal to, or greater than
+ * the second. Large inputs without a comparator are sorted in parallel. The sort is stable.
+ */
+public final class SortFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        Iterable iterable = Aggregation.iterableArg(args, "sort");
+        Function comparator = Aggregation.callbackArg(args, "sort");
+        int offHeapThreshold = ctx.getExecutionConfig().getOffHeapListThreshold();
+
+        if (comparator == null && iterable instanceof ListIterable list && list.isNumeric()) {
+            double[] numbers = list.toNumberArray();
+            sortNumbers(numbers, ctx);
+            return new Value(DataType.ITERABLE, ListIterable.ofNumbers(numbers, offHeapThreshold));
+        }
+
+        List<Value> valueList = new ArrayList<>();
+        try {
+            for (Value value = iterable.next(); value != null; value = iterable.next())
+                valueList.add(value);
+        } finally {
+            iterable.close();
+        }
+        Value[] values = valueList.toArray(new Value[0]);
+
+        if (comparator != null) {
+            try {
+                Arrays.sort(values, (a, b) -> compareWith(comparator, a, b, ctx));
+            } catch (IllegalArgumentException e) {
+                throw new SakuraException("The comparator passed to \"sort()\" is inconsistent.", e);
+            }
+            return new Value(DataType.ITERABLE, new ListIterable(values));
+        } else if (values.length == 0)
+            return new Value(DataType.ITERABLE, new ListIterable(values));
+
+        DataType type = values[0].type();
+        for (Value value : values)
+            if (value.type() != type)
+                throw new SakuraException("The \"sort()\" function can not compare values of type \"%s\" and \"%s\" without a comparator.".formatted(type, value.type()));
+
+        switch (type) {
+            case NUMBER -> {
+                double[] numbers = new double[values.length];
+                for (int i = 0; i < values.length; i++)
+                    numbers[i] = values[i].numberValue();
+                sortNumbers(numbers, ctx);
+                return new Value(DataType.ITERABLE, ListIterable.ofNumbers(numbers, offHeapThreshold));
+            }
+            case STRING -> sortObjects(values, Comparator.comparing(v -> (String) v.value()), ctx);
+            case PATH -> sortObjects(values, Comparator.comparing(v -> (File) v.value()), ctx);
+            default ->
+                    throw new SakuraException("The \"sort()\" function can not compare values of type \"%s\" without a comparator.".formatted(type));
+        }
+        return new Value(DataType.ITERABLE, new ListIterable(values));
+    }
+
+    /**
+     * Sort numbers in ascending order, in parallel if there are enough of them.
+     *
+     * @param numbers The numbers to sort in place.
+     * @param ctx     The context the function is executed in.
+     */
+    private static void sortNumbers(double[] numbers, ExecutionContext ctx) {
+        if (Aggregation.isParallel(numbers.length, ctx))
+            Arrays.parallelSort(numbers);
+        else
+            Arrays.sort(numbers);
+    }
+
+    /**
+     * Sort values by a key extracted from them, in parallel if there are enough of them.
+     *
+     * @param values     The values to sort in place.
+     * @param comparator The comparator of the values' keys.
+     * @param ctx        The context the function is executed in.
+     */
+    private static void sortObjects(Value[] values, Comparator<Value> comparator, ExecutionContext ctx) {
+        if (Aggregation.isParallel(values.length, ctx))
+            Arrays.parallelSort(values, comparator);
+        else
+            Arrays.sort(values, comparator);
+    }
+
+    /**
+     * Compare two values with a comparator passed from a script.
+     *
+     * @param comparator The comparator function.
+     * @param a          The first value.
+     * @param b          The second value.
+     * @param ctx        The context to call the comparator from.
+     * @return The sign of the result of the comparator.
+     * @throws SakuraException Thrown if the comparator does not return a number.
+     */
+    private static int compareWith(Function comparator, Value a, Value b, ExecutionContext ctx) {
+        Value result = ctx.executeFunc("<sort comparator>", comparator, new Value[]{a, b});
+        if (result.type() != DataType.NUMBER)
+            throw new SakuraException("The comparator passed to \"sort()\" must return a number, but returned a value of type \"%s\".".formatted(result.type()));
+        return (int) Math.signum(result.numberValue());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A function to split a string into a list of strings around every occurrence of a separator. The separator is matched literally, and empty strings between separators are kept. An empty separator splits the string into characters.
+ */
+public final class SplitFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"split()\" function requires two parameters.");
+        else if (args.get(0).type() != DataType.STRING || args.get(1).type() != DataType.STRING)
+            throw new SakuraException("Both parameters to \"split()\" need to be of type string.");
+
+        var str = (String) args.get(0).value();
+        var separator = (String) args.get(1).value();
+
+        List<Value> parts = new ArrayList<>();
+        if (separator.isEmpty()) {
+            for (int i = 0; i < str.length(); i++)
+                parts.add(Value.ofChar(str.charAt(i)));
+        } else {
+            @Var int start = 0;
+            @Var int end = str.indexOf(separator);
+            while (end != -1) {
+                parts.add(Value.ofString(str.substring(start, end)));
+                start = end + separator.length();
+                end = str.indexOf(separator, start);
+            }
+            parts.add(Value.ofString(str.substring(start)));
+        }
+
+        return new Value(DataType.ITERABLE, new ListIterable(parts));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -15,7 +15,6 @@
 package net.arkinsolomon.sakurainterpreter.functions;
 
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 
@@ -31,6 +30,11 @@ public final class StrFunction implements Function {
         if (args.size() == 0)
             throw new SakuraException("Str function requires at least one argument");
 
-        return new Value(DataType.STRING, args.get(0).toString(), false);
+        return Value.ofString(args.get(0).toString());
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
     }
 }
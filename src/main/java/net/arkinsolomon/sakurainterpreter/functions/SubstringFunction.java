@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+
+/**
+ * A function to get part of a string, from a start index up to, but not including, an optional end index.
+ */
+public final class SubstringFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"substring()\" function requires at least two parameters.");
+        else if (args.get(0).type() != DataType.STRING)
+            throw new SakuraException("The first parameter to \"substring()\" needs to be of type string.");
+        else if (args.get(1).type() != DataType.NUMBER || (args.size() > 2 && args.get(2).type() != DataType.NUMBER))
+            throw new SakuraException("The indices passed to \"substring()\" need to be of type number.");
+
+        var str = (String) args.get(0).value();
+        int start = (int) Math.floor(args.get(1).numberValue());
+        int end = args.size() > 2 ? (int) Math.floor(args.get(2).numberValue()) : str.length();
+
+        if (start < 0 || end > str.length() || start > end)
+            throw new SakuraException("Substring indices [%d, %d) are out of bounds for a string of length %d.".formatted(start, end, str.length()));
+        return Value.ofString(str.substring(start, end));
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.RangeIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.util.List;
+import java.util.stream.DoubleStream;
+
+/**
+ * A function to add up every number of an iterable. Ranges are summed in closed form, and large numeric lists can be summed in parallel.
+ */
+public final class SumFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        Iterable iterable = Aggregation.iterableArg(args, "sum");
+
+        if (iterable instanceof RangeIterable range && range.size() >= 0) {
+            long n = range.size();
+            return Value.ofNumber(n * range.getStart() + (double) range.getStep() * n * (n - 1) / 2);
+        }
+
+        if (iterable instanceof ListIterable list && list.isNumeric()) {
+            @Var DoubleStream numbers = list.numberStream();
+            if (Aggregation.isParallel(list.size(), ctx))
+                numbers = numbers.parallel();
+            return Value.ofNumber(numbers.sum());
+        }
+
+        @Var double sum = 0;
+        try {
+            for (Value value = iterable.next(); value != null; value = iterable.next())
+                sum += Aggregation.numberOf(value, "sum");
+        } finally {
+            iterable.close();
+        }
+        return Value.ofNumber(sum);
+    }
+}
@@ -16,7 +16,6 @@
 package net.arkinsolomon.sakurainterpreter.functions;
 
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 
@@ -33,6 +32,11 @@ public final class TypeFunction implements Function {
             throw new SakuraException("Type function requires at-least one argument.");
 
         String typeStr = args.get(0).type().toString().toLowerCase();
-        return new Value(DataType.STRING, typeStr, false);
+        return Value.ofString(typeStr);
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
     }
 }
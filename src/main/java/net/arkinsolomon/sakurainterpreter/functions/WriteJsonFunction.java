@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.execution.ValueMap;
+import net.arkinsolomon.sakurainterpreter.operations.Operation;
+import net.arkinsolomon.sakurainterpreter.operations.WriteOperation;
+import org.json.simple.JSONValue;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * A function to write a value to a file as JSON. Lists and other iterables become arrays, maps become objects, and paths
+ * become strings. The file is written through the operation journal, so the write is undone with the rest of the
+ * execution.
+ */
+public final class WriteJsonFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"writeJson()\" function requires two parameters.");
+        else if (args.get(0).type() != DataType.PATH)
+            throw new SakuraException("The first parameter to \"writeJson()\" needs to be of type path.");
+
+        var file = (File) args.get(0).value();
+        var json = new StringBuilder();
+        appendJson(json, args.get(1));
+
+        Operation writeOp = new WriteOperation(ctx, file, json.toString());
+        ctx.getFileTracker().runOperation(writeOp);
+        return Value.NULL;
+    }
+
+    /**
+     * Append the JSON representation of a value.
+     *
+     * @param json  The builder to append to.
+     * @param value The value to append.
+     * @throws SakuraException Thrown if the value, or a value within it, can not be represented in JSON.
+     */
+    private static void appendJson(StringBuilder json, Value value) {
+        switch (value.type()) {
+            case NULL -> json.append("null");
+            case BOOLEAN -> json.append(value.booleanValue());
+            case NUMBER -> {
+                if (!Double.isFinite(value.numberValue()))
+                    throw new SakuraException("Can not write the number \"%s\" as JSON.".formatted(value));
+                json.append(value);
+            }
+            case STRING -> appendString(json, (String) value.value());
+            case PATH -> appendString(json, Operation.getFilePathStr((File) value.value()));
+            case MAP -> {
+                var map = (ValueMap) value.value();
+                json.append('{');
+                ListIterable keys = map.keys();
+                for (int i = 0; i < keys.size(); i++) {
+                    Value key = keys.get(i);
+                    if (key.type() != DataType.STRING)
+                        throw new SakuraException("Can not write a map with a key of type \"%s\" as JSON, keys must be strings.".formatted(key.type()));
+                    if (i > 0)
+                        json.append(',');
+                    appendString(json, (String) key.value());
+                    json.append(':');
+                    appendJson(json, map.get(key));
+                }
+                json.append('}');
+            }
+            case ITERABLE -> {
+                Iterable iterable = Iterable.from(value);
+                json.append('[');
+                @Var boolean first = true;
+                try {
+                    for (Value element = iterable.next(); element != null; element = iterable.next()) {
+                        if (!first)
+                            json.append(',');
+                        first = false;
+                        appendJson(json, element);
+                    }
+                } finally {
+                    iterable.close();
+                }
+                json.append(']');
+            }
+            default ->
+                    throw new SakuraException("Can not write a value of type \"%s\" as JSON.".formatted(value.type()));
+        }
+    }
+
+    /**
+     * Append a quoted and escaped JSON string.
+     *
+     * @param json The builder to append to.
+     * @param str  The string to append.
+     */
+    private static void appendString(StringBuilder json, String str) {
+        json.append('"').append(JSONValue.escape(str)).append('"');
+    }
+}
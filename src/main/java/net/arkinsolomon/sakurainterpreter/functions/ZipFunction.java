@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.functions;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.execution.ZipIterable;
+
+import java.util.List;
+
+/**
+ * A function to lazily combine iterables into an iterable of lists, where each list holds the next value of every iterable. The result ends with the shortest iterable.
+ */
+public final class ZipFunction implements Function {
+
+    @Override
+    public Value execute(List<Value> args, ExecutionContext ctx) {
+        if (args.size() < 2)
+            throw new SakuraException("The \"zip()\" function requires at least two parameters.");
+
+        var sources = new Iterable[args.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = Iterable.from(args.get(i));
+            if (sources[i] == null)
+                throw new SakuraException("Every parameter to \"zip()\" needs to be iterable.");
+        }
+
+        return new Value(DataType.ITERABLE, new ZipIterable(sources));
+    }
+}
@@ -88,7 +88,7 @@ public final class Lexer {
      * @return True if the token is of a type that is determined to be a multi-statement token.
      */
     private static boolean isMultiStatement(Token token) {
-        return token.isOfType(TokenType.SEMI, TokenType.RETURN, TokenType.CONTINUE, TokenType.BREAK,
+        return token.isOfType(TokenType.SEMI, TokenType.RETURN, TokenType.YIELD, TokenType.CONTINUE, TokenType.BREAK,
                 TokenType.IF, TokenType.ELIF, TokenType.ELSE,
                 TokenType.WHILE, TokenType.FOR,
                 TokenType.FUNC, TokenType.OPEN_BRACE, TokenType.CLOSE_BRACE,
@@ -306,6 +306,7 @@ public final class Lexer {
                         case "break" -> currentType = TokenType.BREAK;
                         case "continue" -> currentType = TokenType.CONTINUE;
                         case "return" -> currentType = TokenType.RETURN;
+                        case "yield" -> currentType = TokenType.YIELD;
                         case "else" -> currentType = TokenType.ELSE;
                         case "while" -> currentType = TokenType.WHILE;
                         case "func" -> currentType = TokenType.FUNC;
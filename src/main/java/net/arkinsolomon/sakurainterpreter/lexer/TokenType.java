@@ -61,6 +61,7 @@ public enum TokenType {
     FOR_LOOP, // The whole parsed and tokenized loop
 
     RETURN, // return
+    YIELD, // yield
     BREAK, // break
     CONTINUE, // continue
 
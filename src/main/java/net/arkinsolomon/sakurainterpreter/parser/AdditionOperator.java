@@ -44,12 +44,10 @@ final class AdditionOperator extends Operator {
         Value rhs = rightChild().evaluate(ctx);
 
         if (lhs.type() == DataType.STRING || rhs.type() == DataType.STRING) {
-            String lVal = lhs.value().toString();
-            String rVal = rhs.value().toString();
-
-            return new Value(DataType.STRING, lVal + rVal, false);
+            Value lStr = lhs.type() == DataType.STRING ? lhs : Value.ofString(lhs.value().toString());
+            return lStr.concat(rhs.value().toString());
         } else if (lhs.type() == DataType.NUMBER && rhs.type() == DataType.NUMBER)
-            return new Value(DataType.NUMBER, (double) lhs.value() + (double) rhs.value(), false);
+            return Value.ofNumber(lhs.numberValue() + rhs.numberValue());
 
         throw new SakuraException(token, "Invalid operands for \"+\" operator. Adding \"%s\" of type \"%s\" to \"%s\" of type \"%s\".".formatted(lhs.toString(), lhs.type(), rhs.toString(), rhs.type()));
     }
@@ -37,10 +37,10 @@ final class AssignmentOperator extends Operator {
     public Value evaluate(ExecutionContext ctx) {
         Value assignmentValue = rightChild().evaluate(ctx);
 
-        leftChild().assign(ctx, assignmentValue.setMutability(true));
+        leftChild().assign(ctx, assignmentValue);
 
         // Assignment operators return the value of assignment
-        return new Value(assignmentValue.type(), assignmentValue.value(), false);
+        return assignmentValue;
     }
 
     @Override
@@ -28,6 +28,8 @@ import java.util.Objects;
  */
 final class BinaryBooleanOperator extends Operator {
 
+    private final boolean isOr;
+
     /**
      * Create a new operator using a token.
      *
@@ -35,6 +37,7 @@ final class BinaryBooleanOperator extends Operator {
      */
     public BinaryBooleanOperator(Token token) {
         super(token);
+        isOr = Objects.equals(token.value(), "|");
     }
 
     @Override
@@ -43,18 +46,22 @@ final class BinaryBooleanOperator extends Operator {
             throw new RuntimeException("Binary boolean operators requires both operands");
 
         Value lhs = leftChild().evaluate(ctx);
-        Value rhs = rightChild().evaluate(ctx);
+        if (lhs.type() != DataType.BOOLEAN)
+            throw new RuntimeException("Can not %s non-boolean operators".formatted(isOr ? "OR" : "AND"));
 
-        boolean isOr = Objects.equals(token.value(), "|");
+        // Skip the right operand if the left one already determines the result
+        boolean leftValue = lhs.booleanValue();
+        if (leftValue == isOr && ctx.getExecutionConfig().isShortCircuitEnabled())
+            return Value.ofBoolean(leftValue);
 
-        if (lhs.type() != DataType.BOOLEAN || rhs.type() != DataType.BOOLEAN)
+        Value rhs = rightChild().evaluate(ctx);
+        if (rhs.type() != DataType.BOOLEAN)
             throw new RuntimeException("Can not %s non-boolean operators".formatted(isOr ? "OR" : "AND"));
 
-        var leftValue = (boolean) lhs.value();
-        var rightValue = (boolean) rhs.value();
+        boolean rightValue = rhs.booleanValue();
         boolean returnValue = isOr ? leftValue || rightValue : leftValue && rightValue;
 
-        return new Value(DataType.BOOLEAN, returnValue, false);
+        return Value.ofBoolean(returnValue);
     }
 
     @Override
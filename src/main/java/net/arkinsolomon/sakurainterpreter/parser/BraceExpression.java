@@ -15,9 +15,7 @@
 
 package net.arkinsolomon.sakurainterpreter.parser;
 
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
-import net.arkinsolomon.sakurainterpreter.execution.ExecutionResult;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 import net.arkinsolomon.sakurainterpreter.lexer.TokenStorage;
@@ -29,7 +27,6 @@ import java.util.List;
  */
 final class BraceExpression extends Expression {
 
-    private final Parser parent;
     private final Parser body;
 
     /**
@@ -38,10 +35,8 @@ final class BraceExpression extends Expression {
      * @param token The token of the brace expression.
      */
     @SuppressWarnings("unchecked")
-
-    public BraceExpression(Token token, Parser parent) {
+    public BraceExpression(Token token) {
         super(token, 0);
-        this.parent = parent;
 
         var body = (List<Token>) token.value();
         var ts = new TokenStorage(body);
@@ -54,11 +49,16 @@ final class BraceExpression extends Expression {
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        var tempCtx = new ExecutionContext(ctx);
-        body.resume();
-        ExecutionResult result = body.execute(tempCtx);
-        if (result.earlyReturnType() == EarlyReturnType.RETURN)
-            parent.stop();
-        return new Value(DataType.__BRACE_RETURN, result, false);
+        return evaluateInScope(new ExecutionContext(ctx));
+    }
+
+    /**
+     * Evaluate the body directly within a scope, without creating a new context for it.
+     *
+     * @param scope The context which acts as the scope of the body.
+     * @return The returned value if the body executed a return statement, otherwise {@link Value#NULL}.
+     */
+    Value evaluateInScope(ExecutionContext scope) {
+        return body.execute(scope);
     }
 }
@@ -38,6 +38,6 @@ final class ConstVariable extends Variable {
     public void assign(ExecutionContext ctx, Value val) {
         if (ctx.hasLocalIdentifier(identifier))
             throw new SakuraException(token.line(), token.column(), "Identifier \"%s\" already exists.".formatted(identifier));
-        ctx.defineIdentifier(identifier, val.setMutability(false));
+        ctx.defineIdentifier(identifier, val, false);
     }
 }
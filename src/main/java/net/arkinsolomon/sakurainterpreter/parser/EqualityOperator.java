@@ -16,7 +16,6 @@
 package net.arkinsolomon.sakurainterpreter.parser;
 
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
@@ -47,17 +46,17 @@ class EqualityOperator extends Operator {
             return Value.FALSE;
 
         boolean isEqual = switch (lhs.type()) {
-            case STRING, PATH -> lhs.value().equals(rhs.value());
+            case STRING, PATH, MAP -> lhs.value().equals(rhs.value());
             case NUMBER ->
-                    Math.abs((double) lhs.value() - (double) rhs.value()) < 1e-12;
-            case BOOLEAN -> (boolean) lhs.value() == (boolean) rhs.value();
+                    Math.abs(lhs.numberValue() - rhs.numberValue()) < 1e-12;
+            case BOOLEAN -> lhs.booleanValue() == rhs.booleanValue();
             case NULL -> true;
             case FUNCTION, ITERABLE -> lhs.value() == rhs.value();
             default ->
                     throw new SakuraException(token.line(), token.column(), "Invalid comparison between operands both of type \"%s\".".formatted(lhs.type()));
         };
 
-        return new Value(DataType.BOOLEAN, isEqual, false);
+        return Value.ofBoolean(isEqual);
     }
 
     @Override
@@ -17,7 +17,6 @@ package net.arkinsolomon.sakurainterpreter.parser;
 
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.operations.Operation;
@@ -45,6 +44,6 @@ final class ExistsCommand extends SinglePathCommand {
         if (!ctx.getOperationConfig().isValidReadPath(path))
             throw new SakuraException("Insufficient permission to determine if \"%s\" exists.".formatted(Operation.getFilePathStr(path)));
 
-        return new Value(DataType.BOOLEAN, path.exists(), false);
+        return Value.ofBoolean(path.exists());
     }
 }
@@ -16,17 +16,15 @@
 package net.arkinsolomon.sakurainterpreter.parser;
 
 import com.google.errorprone.annotations.Var;
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
-import net.arkinsolomon.sakurainterpreter.execution.DirectoryIterable;
+import net.arkinsolomon.sakurainterpreter.execution.ControlFlowRegister;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
-import net.arkinsolomon.sakurainterpreter.execution.ExecutionResult;
 import net.arkinsolomon.sakurainterpreter.execution.Iterable;
-import net.arkinsolomon.sakurainterpreter.execution.StringIterable;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.functions.RangeFunction;
 import net.arkinsolomon.sakurainterpreter.lexer.ForLoopData;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 import net.arkinsolomon.sakurainterpreter.lexer.TokenStorage;
@@ -35,9 +33,9 @@ import net.arkinsolomon.sakurainterpreter.lexer.TokenType;
 /**
  * A node which represents a for loop.
  */
-final class ForLoop extends Expression {
+final class ForLoop extends Expression implements TieredNode {
 
-    private final Parser parent;
+    private final HotnessCounter backEdges = new HotnessCounter();
     private final boolean isAssigneeConst;
     private final String identifier;
 
@@ -46,9 +44,8 @@ final class ForLoop extends Expression {
      *
      * @param token The token to create the for loop from.
      */
-    public ForLoop(Token token, Parser parent) {
+    public ForLoop(Token token) {
         super(token, 2);
-        this.parent = parent;
 
         var data = (ForLoopData) token.value();
         isAssigneeConst = data.isConstant();
@@ -77,7 +74,7 @@ final class ForLoop extends Expression {
         var branchTokenStorage = new TokenStorage(bodyList);
         List<Node> bodyNodes = new Parser(branchTokenStorage).parse(false);
 
-        if (bodyNodes.size() != 1)
+        if (bodyNodes.size() != 1 || !(bodyNodes.get(0) instanceof BraceExpression))
             throw new RuntimeException("The body of a while loop must be wrapped in braces");
 
         setChild(1, bodyNodes.get(0));
@@ -85,40 +82,122 @@ final class ForLoop extends Expression {
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        Iterable loopIterable;
-        Value iterableEvalResult = getChild(0).evaluate(ctx);
-        if (iterableEvalResult.type() == DataType.STRING)
-            loopIterable = new StringIterable((String) iterableEvalResult.value());
-        else if (iterableEvalResult.type() == DataType.ITERABLE)
-            loopIterable = (Iterable) iterableEvalResult.value();
-        else if (iterableEvalResult.type() == DataType.PATH)
-            loopIterable = new DirectoryIterable((File) iterableEvalResult.value());
-        else
-            throw new SakuraException(token, "For loops can only loop over iterables, directories, or strings..");
-
-        assert loopIterable != null;
-
-        @Var Value curr = loopIterable.next();
-        while (curr != null) {
-            var tempCtx = new ExecutionContext(ctx);
-            tempCtx.defineIdentifier(identifier, curr.setMutability(isAssigneeConst));
-
-            Value braceReturn = getChild(1).evaluate(tempCtx);
-            var result = (ExecutionResult) braceReturn.value();
-            if (result.earlyReturnType() != EarlyReturnType.NONE) {
-                if (result.earlyReturnType() == EarlyReturnType.CONTINUE) {
-                    curr = loopIterable.next();
-                    continue;
-                } else if (result.earlyReturnType() == EarlyReturnType.BREAK)
-                    return Value.NULL;
-                else
-                    parent.stop();
-                return braceReturn;
+
+        // Checked every time, since scripts may define their own range function
+        if (getChild(0) instanceof FunctionCall call && call.identifier.equals("range") && call.resolve(ctx) instanceof RangeFunction)
+            return evaluateCountedLoop(ctx, call);
+
+        Iterable loopIterable = Iterable.from(getChild(0).evaluate(ctx));
+        if (loopIterable == null)
+            throw new SakuraException(token, "For loops can only loop over iterables, maps, directories, or strings.");
+
+        ControlFlowRegister controlFlow = ctx.getControlFlow();
+        @Var ExecutionContext loopScope = null;
+        @Var ExecutionContext bodyScope = null;
+
+        // Close the iterable however the loop ends, so that a generator left part way through releases its thread
+        try {
+            @Var Value curr = loopIterable.next();
+            while (curr != null) {
+
+                // Checked every iteration so that a long-running loop switches tiers mid-execution
+                if (backEdges.isHot()) {
+                    if (loopScope == null) {
+                        loopScope = new ExecutionContext(ctx);
+                        bodyScope = new ExecutionContext(loopScope);
+                    } else
+                        bodyScope.clearLocalIdentifiers();
+
+                    loopScope.defineIdentifier(identifier, curr, !isAssigneeConst);
+                    ((BraceExpression) getChild(1)).evaluateInScope(bodyScope);
+                } else {
+                    var tempCtx = new ExecutionContext(ctx);
+                    tempCtx.defineIdentifier(identifier, curr, !isAssigneeConst);
+
+                    getChild(1).evaluate(tempCtx);
+                    backEdges.record(ctx.getExecutionConfig().getLoopTierThreshold());
+                }
+
+                if (controlFlow.isSet()) {
+                    EarlyReturnType state = controlFlow.getState();
+
+                    // Leave returns in the register so that they propagate to the enclosing function
+                    if (state == EarlyReturnType.RETURN)
+                        return Value.NULL;
+
+                    controlFlow.clear();
+                    if (state == EarlyReturnType.BREAK)
+                        return Value.NULL;
+                }
+
+                curr = loopIterable.next();
             }
+        } finally {
+            loopIterable.close();
+        }
 
-            curr = loopIterable.next();
+        return Value.NULL;
+    }
+
+    /**
+     * Evaluate a loop over a call to the range function as a counted loop, without creating an iterable. The loop
+     * variable is defined once and rebound in place every iteration, and the body scope is reused.
+     *
+     * @param ctx  The context in which the loop is evaluated.
+     * @param call The call to the range function in the iterable position.
+     * @return Always {@link Value#NULL}.
+     */
+    private Value evaluateCountedLoop(ExecutionContext ctx, FunctionCall call) {
+        Value[] args = call.evaluateArgs(ctx);
+        int[] bounds;
+        try {
+            bounds = RangeFunction.getBounds(Arrays.asList(args));
+        } catch (SakuraException e) {
+            throw call.addCallSite(e);
+        }
+
+        int end = bounds[1];
+        int step = bounds[2];
+        if (bounds[0] >= end)
+            return Value.NULL;
+
+        ControlFlowRegister controlFlow = ctx.getControlFlow();
+        var loopScope = new ExecutionContext(ctx);
+        var bodyScope = new ExecutionContext(loopScope);
+        loopScope.defineIdentifier(identifier, Value.ofNumber(bounds[0]), !isAssigneeConst);
+
+        for (int i = bounds[0]; i < end; i += step) {
+            if (i != bounds[0]) {
+                loopScope.rebindLocalIdentifier(identifier, Value.ofNumber(i));
+                bodyScope.clearLocalIdentifiers();
+            }
+            ((BraceExpression) getChild(1)).evaluateInScope(bodyScope);
+
+            if (controlFlow.isSet()) {
+                EarlyReturnType state = controlFlow.getState();
+                if (state == EarlyReturnType.RETURN)
+                    return Value.NULL;
+
+                controlFlow.clear();
+                if (state == EarlyReturnType.BREAK)
+                    return Value.NULL;
+            }
         }
 
         return Value.NULL;
     }
+
+    /**
+     * Get the identifier of the loop variable.
+     *
+     * @return The identifier of the loop variable.
+     */
+    String getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public void promote() {
+        backEdges.markHot();
+    }
 }
@@ -16,13 +16,15 @@
 package net.arkinsolomon.sakurainterpreter.parser;
 
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.TailCall;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.functions.Function;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 import net.arkinsolomon.sakurainterpreter.lexer.TokenStorage;
 import net.arkinsolomon.sakurainterpreter.lexer.FunctionCallData;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -31,6 +33,7 @@ import java.util.List;
 final class FunctionCall extends Node {
 
     final String identifier;
+    private InlineCache inlineCache;
 
     /**
      * Make a function call using a token.
@@ -65,24 +68,95 @@ final class FunctionCall extends Node {
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        if (!ctx.hasIdentifier(identifier))
-            throw new SakuraException(token, "Function does not exist");
-
-        List<Value> argValues = new ArrayList<>();
-        for (Node child : children)
-            argValues.add(child.evaluate(ctx));
+        Function function = resolve(ctx);
+        Value[] argValues = evaluateArgs(ctx);
         try {
-            return ctx.executeFunc(identifier, argValues);
+            return ctx.executeFunc(identifier, function, argValues);
         } catch (SakuraException e) {
-            if (!e.isLocationSet())
-               throw e.setPosition(token.line(), token.column());
-            e.addStackTraceItem(token.line(), token.column(), identifier);
-            throw e;
+            throw addCallSite(e);
         }
     }
 
+    /**
+     * Add the location of this call to an exception thrown while executing it.
+     *
+     * @param e The exception thrown by the callee.
+     * @return The exception, for the caller to rethrow.
+     */
+    SakuraException addCallSite(SakuraException e) {
+        if (!e.isLocationSet())
+            return e.setPosition(token.line(), token.column());
+        e.addStackTraceItem(token.line(), token.column(), identifier);
+        return e;
+    }
+
+    /**
+     * Evaluate the arguments of this call without executing it, so that it can be executed by the enclosing function after it returns.
+     *
+     * @param ctx The context in which to evaluate the arguments.
+     * @return The evaluated call, or null if the callee is not a Sakura function, in which case the call should be evaluated normally.
+     */
+    TailCall prepareTailCall(ExecutionContext ctx) {
+        Value functionValue = ctx.findIdentifier(identifier);
+        if (functionValue == null || functionValue.type() != DataType.FUNCTION || !(functionValue.value() instanceof FunctionDefinition))
+            return null;
+
+        return new TailCall(identifier, (Function) functionValue.value(), evaluateArgs(ctx), token);
+    }
+
+    /**
+     * Find the function this call refers to. Functions found in the root context are cached, and reused without a lookup while the function table version of the execution is unchanged. Identifiers which have been shadowed outside the root context are never cached, since a shadow only changes the version the first time.
+     *
+     * @param ctx The context in which the call is made.
+     * @return The function to call.
+     */
+    Function resolve(ExecutionContext ctx) {
+        ExecutionContext rootCtx = ctx.getRootContext();
+        int version = ctx.getFunctionTableVersion();
+
+        InlineCache cache = inlineCache;
+        if (cache != null && cache.rootCtx() == rootCtx && cache.version() == version)
+            return cache.function();
+
+        Value functionValue = ctx.findIdentifier(identifier);
+        if (functionValue == null)
+            throw new SakuraException(token, "Function does not exist");
+        else if (functionValue.type() != DataType.FUNCTION)
+            throw new SakuraException(token, "Can not call \"%s\" of type \"%s\". Only function types are callable.".formatted(identifier, functionValue.type()));
+
+        var function = (Function) functionValue.value();
+
+        // Functions found in local scopes are not cached, since the scope is gone by the next call
+        if (rootCtx.findLocalIdentifier(identifier) == functionValue && !rootCtx.isShadowedFunction(identifier))
+            inlineCache = new InlineCache(function, rootCtx, version);
+        return function;
+    }
+
+    /**
+     * Evaluate every argument of this call.
+     *
+     * @param ctx The context in which to evaluate the arguments.
+     * @return The values of the arguments.
+     */
+    Value[] evaluateArgs(ExecutionContext ctx) {
+        var argValues = new Value[children.length];
+        for (int i = 0; i < children.length; i++)
+            argValues[i] = children[i].evaluate(ctx);
+        return argValues;
+    }
+
     @Override
     public int getPrecedence() {
         return Precedences.VALUE;
     }
+
+    /**
+     * A function resolved by a call site, and the state of the execution when it was resolved.
+     *
+     * @param function The resolved function.
+     * @param rootCtx  The root context of the execution the function was resolved in.
+     * @param version  The function table version when the function was resolved.
+     */
+    private record InlineCache(Function function, ExecutionContext rootCtx, int version) {
+    }
 }
@@ -15,9 +15,14 @@
 
 package net.arkinsolomon.sakurainterpreter.parser;
 
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.ControlFlowRegister;
 import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
+import net.arkinsolomon.sakurainterpreter.execution.MemoTable;
+import net.arkinsolomon.sakurainterpreter.execution.TailCall;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.functions.Function;
 import net.arkinsolomon.sakurainterpreter.lexer.FunctionArgData;
@@ -26,6 +31,7 @@ import net.arkinsolomon.sakurainterpreter.lexer.TokenStorage;
 import net.arkinsolomon.sakurainterpreter.lexer.FunctionDefinitionData;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,10 +42,13 @@ final class FunctionDefinition extends Expression implements Function {
     private final FunctionDefinitionData data;
     private final Parser parsedFunc;
     private final List<Node> defaultArgExpressions = new ArrayList<>();
+    private final HotnessCounter invocations = new HotnessCounter();
     private ExecutionContext rootCtx;
+    private Boolean isPure = null;
+    private boolean isAnalyzingPurity = false;
+    private final boolean isGenerator;
 
     private boolean hasRest;
-    private boolean isRestConst;
 
     /**
      * Create a new function definition.
@@ -55,11 +64,15 @@ final class FunctionDefinition extends Expression implements Function {
         parsedFunc = new Parser(body);
         parsedFunc.parse(true, true);
 
+        // Generators are suspended part way through their body, so their returns can not be turned into tail calls
+        isGenerator = containsYield(parsedFunc.getExpressions());
+        if (!isGenerator)
+            markTailCalls(parsedFunc.getExpressions());
+
         hasRest = false;
         for (FunctionArgData argData : data.args()) {
             if (argData.isRest()) {
                 hasRest = true;
-                isRestConst = argData.isConstant();
                 break;
             } else if (!argData.hasDefault()) {
                 defaultArgExpressions.add(null);
@@ -92,42 +105,239 @@ final class FunctionDefinition extends Expression implements Function {
     public void register(ExecutionContext ctx) {
         rootCtx = ctx;
 
-        if (ctx.hasIdentifier(data.identifier()))
+        if (ctx.hasIdentifier(data.identifier()) && !ctx.isBuiltIn(data.identifier()))
             throw new RuntimeException("Function already exists");
         ctx.registerFunc(data.identifier(), this);
     }
 
     @Override
     public Value execute(List<Value> args, ExecutionContext ctx) {
-        var tempCtx = new ExecutionContext(rootCtx);
-
-        @SuppressWarnings("ConstantConditions")
-        List<Value> argValues = new ArrayList<>(defaultArgExpressions
-                .stream()
-                .map(node -> node == null ? null : node.evaluate(rootCtx))
-                .toList());
-
-        if (!hasRest) {
-
-            // Pick the default value if no argument is provided
-            int minLen = Math.min(argValues.size(), args.size());
-            for (int i = 0; i < minLen; i++)
-                argValues.set(i, args.get(i));
-        } else {
-            for (int i = 0; i < argValues.size(); i++)
-                argValues.set(i, args.get(i));
-            argValues.add(new Value(DataType.ITERABLE, new ListIterable(args.subList(argValues.size(), args.size())), !isRestConst));
+        return execute(args.toArray(Value[]::new), ctx);
+    }
+
+    @Override
+    public Value execute(Value[] args, ExecutionContext ctx) {
+        if (!rootCtx.getExecutionConfig().isMemoizationEnabled())
+            return executeWithTailCalls(args);
+
+        List<Value> argList = Arrays.asList(args);
+        if (!MemoTable.canMemoize(argList) || !isPure())
+            return executeWithTailCalls(args);
+
+        MemoTable memoTable = rootCtx.getMemoTable();
+        Value memoized = memoTable.get(this, argList);
+        if (memoized != null) {
+            rootCtx.getStatistics().recordMemoHit();
+            return memoized;
+        }
+
+        rootCtx.getStatistics().recordMemoMiss();
+        Value returnValue = executeWithTailCalls(args);
+        memoTable.put(this, argList, returnValue);
+        return returnValue;
+    }
+
+    @Override
+    public boolean isPure() {
+        if (isPure == null) {
+
+            // Mutually recursive functions are conservatively considered impure
+            if (isAnalyzingPurity)
+                return false;
+
+            isAnalyzingPurity = true;
+            try {
+                isPure = new PurityAnalysis(this, rootCtx).isPure();
+            } finally {
+                isAnalyzingPurity = false;
+            }
+        }
+        return isPure;
+    }
+
+    /**
+     * Execute this function, and then any tail calls it returns.
+     *
+     * @param args The arguments to the function.
+     * @return The value returned by the function, or by the last tail call.
+     */
+    private Value executeWithTailCalls(Value[] args) {
+        ControlFlowRegister controlFlow = rootCtx.getControlFlow();
+
+        // Tail calls are executed here after the caller returns, so tail recursion runs in constant stack space
+        @Var FunctionDefinition function = this;
+        @Var Value[] currentArgs = args;
+        @Var TailCall tailCall = null;
+        while (true) {
+            Value returnValue;
+            try {
+                returnValue = function.invoke(currentArgs);
+            } catch (SakuraException e) {
+                if (tailCall != null)
+                    addCallSite(e, tailCall);
+                throw e;
+            } catch (RuntimeException e) {
+                if (tailCall == null)
+                    throw e;
+                throw addCallSite(new SakuraException("An exception occurred while executing the function \"%s\".".formatted(tailCall.identifier()), e), tailCall);
+            }
+
+            tailCall = controlFlow.getTailCall();
+            controlFlow.clear();
+            if (tailCall == null)
+                return returnValue;
+
+            rootCtx.getStatistics().recordEliminatedTailCall();
+            function = (FunctionDefinition) tailCall.function();
+            currentArgs = tailCall.args();
+        }
+    }
+
+    /**
+     * Get the arguments of this function.
+     *
+     * @return The data of each argument of this function.
+     */
+    List<FunctionArgData> getArgs() {
+        return data.args();
+    }
+
+    /**
+     * Get the expressions which compute the default values of arguments.
+     *
+     * @return The default value expression of each argument, null for arguments without a default.
+     */
+    List<Node> getDefaultArgExpressions() {
+        return defaultArgExpressions;
+    }
+
+    /**
+     * Get the body of this function.
+     *
+     * @return The top-level expressions of the body.
+     */
+    List<Node> getBody() {
+        return parsedFunc.getExpressions();
+    }
+
+    /**
+     * Execute the body of this function once, leaving any tail call in the control flow register. Calling a generator function only creates the iterable of its values.
+     *
+     * @param args The arguments to the function.
+     * @return The value returned by the body.
+     */
+    private Value invoke(Value[] args) {
+        if (invocations.record(rootCtx.getExecutionConfig().getFunctionTierThreshold()))
+            promote(parsedFunc.getExpressions());
+
+        if (isGenerator)
+            return new Value(DataType.ITERABLE, new GeneratorIterable(this, args, rootCtx.getExecutionConfig().getStackSize()));
+
+        var frame = new ExecutionContext(rootCtx);
+        bindArgs(frame, args);
+        return parsedFunc.execute(frame);
+    }
+
+    /**
+     * Execute the body of this generator function until it finishes. The body has its own control flow register, since
+     * it is suspended in the middle of statements while the code iterating over it keeps running.
+     *
+     * @param args The arguments to the function.
+     */
+    void executeGeneratorBody(Value[] args) {
+        var frame = new ExecutionContext(rootCtx, new ControlFlowRegister());
+        bindArgs(frame, args);
+        parsedFunc.execute(frame);
+    }
+
+    /**
+     * Define the arguments of this function in a new frame. Arguments are bound straight from the array, and default values are only evaluated for missing arguments.
+     *
+     * @param frame The frame to define the arguments in.
+     * @param args  The arguments to the function.
+     */
+    private void bindArgs(ExecutionContext frame, Value[] args) {
+        List<FunctionArgData> argData = data.args();
+
+        int fixedCount = defaultArgExpressions.size();
+        for (int i = 0; i < fixedCount; i++) {
+            @Var Value val;
+            if (i < args.length)
+                val = args[i];
+            else {
+                Node defaultExpression = defaultArgExpressions.get(i);
+                val = defaultExpression == null ? Value.NULL : defaultExpression.evaluate(rootCtx);
+            }
+
+            FunctionArgData arg = argData.get(i);
+            frame.defineIdentifier(arg.identifier(), val == null ? Value.NULL : val, !arg.isConstant());
         }
 
-        // Assign variables to the temporary context
-        for (int i = 0; i < argValues.size(); i++) {
-            FunctionArgData argData = data.args().get(i);
-            String argId = argData.identifier();
-            Value val = argValues.get(i);
+        if (hasRest) {
+            Value[] rest = args.length > fixedCount ? Arrays.copyOfRange(args, fixedCount, args.length) : new Value[0];
+            FunctionArgData restArg = argData.get(fixedCount);
+            frame.defineIdentifier(restArg.identifier(), new Value(DataType.ITERABLE, new ListIterable(rest)), !restArg.isConstant());
+        }
+    }
+
+    /**
+     * Add the location of a tail call to an exception thrown while executing it, since the call is no longer on the stack.
+     *
+     * @param e        The exception thrown by the call.
+     * @param tailCall The call which threw the exception.
+     * @return The exception.
+     */
+    private static SakuraException addCallSite(SakuraException e, TailCall tailCall) {
+        Token token = tailCall.token();
+        if (!e.isLocationSet())
+            e.setPosition(token.line(), token.column());
+        e.addStackTraceItem(token.line(), token.column(), tailCall.identifier());
+        return e;
+    }
 
-            tempCtx.defineIdentifier(argId, val == null ? Value.NULL : new Value(val.type(), val.value(), !data.args().get(i).isConstant()));
+    /**
+     * Check if a function body contains a yield statement, which makes the function a generator.
+     *
+     * @param nodes The nodes to search for yield statements.
+     * @return True if any of the nodes, or their children, is a yield statement.
+     */
+    private static boolean containsYield(List<Node> nodes) {
+        for (Node node : nodes)
+            if (node instanceof YieldStatement || (node != null && containsYield(Arrays.asList(node.children))))
+                return true;
+        return false;
+    }
+
+    /**
+     * Mark every return statement within the function body so that returned function calls are executed as tail calls.
+     *
+     * @param nodes The nodes to search for return statements.
+     */
+    private static void markTailCalls(List<Node> nodes) {
+        for (Node node : nodes) {
+            if (node == null)
+                continue;
+
+            if (node instanceof ReturnStatement)
+                ((ReturnStatement) node).markTailCall();
+            else
+                markTailCalls(Arrays.asList(node.children));
         }
+    }
+
+    /**
+     * Promote every loop within the function body to the optimized tier, so that they skip their own warm-up.
+     *
+     * @param nodes The nodes to search for loops.
+     */
+    private static void promote(List<Node> nodes) {
+        for (Node node : nodes) {
+            if (node == null)
+                continue;
 
-        return parsedFunc.execute(tempCtx).returnValue();
+            if (node instanceof TieredNode)
+                ((TieredNode) node).promote();
+            promote(Arrays.asList(node.children));
+        }
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.parser;
+
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * The values yielded by a call to a generator function. The body of the function runs on its own thread, which is
+ * started by the first call to {@link #next()}, and hands each yielded value over a synchronous queue. Only one of the
+ * two threads runs at a time, since each waits for the other to hand over control. Copying the iterable runs the
+ * function again from the start with the same arguments, so side effects of the body happen again for every copy. A
+ * consumer which stops before the function finishes closes the iterable, which interrupts its thread right away. If an
+ * iterable is abandoned without being closed, its thread is interrupted once the iterable is garbage collected.
+ */
+final class GeneratorIterable implements Iterable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final ThreadLocal<Channel> CURRENT_CHANNEL = new ThreadLocal<>();
+
+    private final FunctionDefinition function;
+    private final Value[] args;
+    private final long stackSize;
+    private Channel channel;
+    private Cleaner.Cleanable cleanable;
+    private boolean isFinished = false;
+
+    /**
+     * Create a new iterable for a call to a generator function.
+     *
+     * @param function  The generator function.
+     * @param args      The arguments the function was called with.
+     * @param stackSize The stack size of the thread which runs the function, or zero for the default.
+     */
+    GeneratorIterable(FunctionDefinition function, Value[] args, long stackSize) {
+        this.function = function;
+        this.args = args;
+        this.stackSize = stackSize;
+    }
+
+    @Override
+    public Value next() {
+        if (isFinished)
+            return null;
+
+        Message message;
+        try {
+            if (channel == null)
+                start();
+            else
+                channel.toGenerator.put(Boolean.TRUE);
+            message = channel.toConsumer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SakuraException("Interrupted while waiting for a generator to yield a value.");
+        }
+
+        if (message.error() == null && !message.isDone())
+            return message.value();
+
+        close();
+        Throwable error = message.error();
+        if (error == null)
+            return null;
+        else if (error instanceof RuntimeException runtimeException)
+            throw runtimeException;
+        else if (error instanceof Error javaError)
+            throw javaError;
+        throw new SakuraException("An exception occurred while executing a generator.", error);
+    }
+
+    @Override
+    public Iterable copy() {
+        return new GeneratorIterable(function, args, stackSize);
+    }
+
+    @Override
+    public void close() {
+        isFinished = true;
+
+        // Interrupts the thread if the function is still waiting to yield, and unregisters it from the cleaner
+        if (cleanable != null)
+            cleanable.clean();
+    }
+
+    /**
+     * Hand a value to the consumer of the generator running on the current thread, and wait until the next value is
+     * requested.
+     *
+     * @param value The value to yield.
+     * @return False if the current thread is not running a generator.
+     */
+    static boolean yieldValue(Value value) {
+        Channel current = CURRENT_CHANNEL.get();
+        if (current == null)
+            return false;
+
+        try {
+            current.toConsumer.put(new Message(value, false, null));
+            current.toGenerator.take();
+        } catch (InterruptedException e) {
+            throw new GeneratorClosedError();
+        }
+        return true;
+    }
+
+    /**
+     * Start the thread which runs the body of the function.
+     */
+    private void start() {
+        Channel newChannel = new Channel();
+        FunctionDefinition generator = function;
+        Value[] generatorArgs = args;
+
+        // The thread must not refer to this iterable, otherwise it could never be collected and cleaned
+        var thread = new Thread(null, () -> run(newChannel, generator, generatorArgs), "sakura-generator", stackSize);
+        thread.setDaemon(true);
+        cleanable = CLEANER.register(this, thread::interrupt);
+
+        channel = newChannel;
+        thread.start();
+    }
+
+    /**
+     * Run the body of a generator function, and tell the consumer when it finishes.
+     *
+     * @param channel  The channel to the consumer.
+     * @param function The generator function.
+     * @param args     The arguments the function was called with.
+     */
+    private static void run(Channel channel, FunctionDefinition function, Value[] args) {
+        CURRENT_CHANNEL.set(channel);
+
+        @Var Throwable error = null;
+        try {
+            function.executeGeneratorBody(args);
+        } catch (GeneratorClosedError e) {
+            return;
+        } catch (Throwable e) {
+            error = e;
+        }
+
+        try {
+            channel.toConsumer.put(new Message(null, true, error));
+        } catch (InterruptedException ignored) {
+            // The consumer abandoned the generator, so there is nobody left to tell
+        }
+    }
+
+    /**
+     * The queues used to hand control between a generator and its consumer.
+     */
+    private static final class Channel {
+        private final SynchronousQueue<Message> toConsumer = new SynchronousQueue<>();
+        private final SynchronousQueue<Boolean> toGenerator = new SynchronousQueue<>();
+    }
+
+    /**
+     * A message from a generator to its consumer.
+     *
+     * @param value  The yielded value, or null if the generator finished.
+     * @param isDone True if the generator finished.
+     * @param error  The exception the generator finished with, or null if it finished normally or yielded a value.
+     */
+    private record Message(Value value, boolean isDone, Throwable error) {
+    }
+
+    /**
+     * Thrown on the generator thread to unwind the body when its consumer is gone. It is an error, rather than an
+     * exception, so that it is not wrapped by code that reports exceptions from functions.
+     */
+    private static final class GeneratorClosedError extends Error {
+
+        /**
+         * Create a new error without a stack trace, since it is only used to unwind the generator thread.
+         */
+        GeneratorClosedError() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.parser;
+
+/**
+ * Counts how often a piece of code runs to decide when it should be promoted from the plain tree-walker to the optimized tier.
+ */
+final class HotnessCounter {
+
+    private int count = 0;
+    private boolean isHot = false;
+
+    /**
+     * Record a single invocation or back-edge.
+     *
+     * @param threshold The count at which the code becomes hot.
+     * @return True if the code became hot with this record.
+     */
+    boolean record(int threshold) {
+        if (isHot)
+            return false;
+
+        count++;
+        if (count >= threshold)
+            isHot = true;
+        return isHot;
+    }
+
+    /**
+     * Check if the code has been promoted.
+     *
+     * @return True if the code has been promoted to the optimized tier.
+     */
+    boolean isHot() {
+        return isHot;
+    }
+
+    /**
+     * Promote the code without waiting for it to reach the threshold.
+     */
+    void markHot() {
+        isHot = true;
+    }
+}
@@ -15,12 +15,10 @@
 
 package net.arkinsolomon.sakurainterpreter.parser;
 
-import com.google.errorprone.annotations.Var;
 import java.util.ArrayList;
 import java.util.List;
 import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
-import net.arkinsolomon.sakurainterpreter.execution.ExecutionResult;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.IfData;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
@@ -34,17 +32,13 @@ final class IfStatement extends Expression {
 
     private final List<Node> conditions = new ArrayList<>();
 
-    private final Parser parent;
-
     /**
      * Create a new if statement from a token.
      *
-     * @param token  The token to create the if statement from.
-     * @param parent The parser that created this expression.
+     * @param token The token to create the if statement from.
      */
-    public IfStatement(Token token, Parser parent) {
+    public IfStatement(Token token) {
         super(token, 0);
-        this.parent = parent;
 
         var data = (IfData) token.value();
         int conditionsLen = data.conditions().size();
@@ -88,38 +82,32 @@ final class IfStatement extends Expression {
             throw new RuntimeException("If-statement has more branches than conditions");
     }
 
+    /**
+     * Get the conditions of each branch, which are not children of this node.
+     *
+     * @return The conditions of each branch.
+     */
+    List<Node> getConditions() {
+        return conditions;
+    }
+
     @Override
     public Value evaluate(ExecutionContext ctx) {
         var tempCtx = new ExecutionContext(ctx);
-        parent.resume();
 
-        @Var int i;
-        for (i = 0; i < conditions.size(); i++) {
+        // Any early return from the branch is left in the control flow register for the enclosing block to handle
+        for (int i = 0; i < conditions.size(); i++) {
             Value conditionValue = conditions.get(i).evaluate(tempCtx);
 
             if (conditionValue.type() != DataType.BOOLEAN)
                 throw new RuntimeException("If-statement conditions must return booleans");
-            if ((boolean) conditionValue.value()) {
-                Value braceReturn = getChild(i).evaluate(tempCtx);
-                var result = (ExecutionResult) braceReturn.value();
-                if (result.earlyReturnType() != EarlyReturnType.NONE) {
-                    parent.stop();
-                    return braceReturn;
-                }
-                break;
+            if (conditionValue.booleanValue()) {
+                getChild(i).evaluate(tempCtx);
+                return Value.NULL;
             }
         }
 
-        if (i == conditions.size()) {
-            Value elseReturn = getChild(i).evaluate(tempCtx);
-            var elseResult = (ExecutionResult) elseReturn.value();
-
-            // elseResult may be null since it can be a no-op
-            if (elseResult != null && elseResult.earlyReturnType() != EarlyReturnType.NONE) {
-                parent.stop();
-                return elseResult.returnValue();
-            }
-        }
+        getChild(conditions.size()).evaluate(tempCtx);
         return Value.NULL;
     }
 }
\ No newline at end of file
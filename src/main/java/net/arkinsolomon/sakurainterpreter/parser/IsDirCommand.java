@@ -16,7 +16,6 @@
 package net.arkinsolomon.sakurainterpreter.parser;
 
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
@@ -45,6 +44,6 @@ final class IsDirCommand extends SinglePathCommand {
         if (!ctx.getOperationConfig().isValidReadPath(dir))
             throw new SakuraException("Insufficient permission to determine if \"%s\" is a file or directory.".formatted(Operation.getFilePathStr(dir)));
 
-        return new Value(DataType.BOOLEAN, dir.isDirectory(), false);
+        return Value.ofBoolean(dir.isDirectory());
     }
 }
@@ -48,6 +48,7 @@ final class LoopControlExpression extends Expression {
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
+        ctx.getControlFlow().setLoopControl(returnType);
         return Value.NULL;
     }
 }
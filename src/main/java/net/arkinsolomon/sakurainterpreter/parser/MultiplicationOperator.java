@@ -43,14 +43,14 @@ final class MultiplicationOperator extends Operator {
         if (rightVal.type() != DataType.NUMBER)
             throw new RuntimeException("Right side of multiplication operator must be a number");
 
-        var rhs = (double) rightVal.value();
+        double rhs = rightVal.numberValue();
         if (leftVal.type() == DataType.STRING) {
             var value = (String) leftVal.value();
-            return new Value(DataType.STRING, value.repeat((int) Math.floor(rhs)), false);
+            return Value.ofString(value.repeat((int) Math.floor(rhs)));
         } else if (leftVal.type() == DataType.NUMBER) {
-            var lhs = (double) leftVal.value();
+            double lhs = leftVal.numberValue();
             double val = lhs * rhs;
-            return new Value(DataType.NUMBER, val, false);
+            return Value.ofNumber(val);
         }
 
         throw new RuntimeException("Invalid operand types for multiplication operator");
@@ -42,6 +42,6 @@ final class NegativeOperator extends PrefixOperator {
         Value val = getChild().evaluate(ctx);
         if (val.type() != DataType.NUMBER)
             throw new RuntimeException("Negative operator can only operate on a number");
-        return new Value(DataType.NUMBER, -1 * ((double) val.value()), false);
+        return Value.ofNumber(-val.numberValue());
     }
 }
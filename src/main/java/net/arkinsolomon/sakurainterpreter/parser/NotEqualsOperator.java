@@ -35,7 +35,7 @@ final class NotEqualsOperator extends EqualityOperator {
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        if ((boolean) super.evaluate(ctx).value())
+        if (super.evaluate(ctx).booleanValue())
             return Value.FALSE;
         return Value.TRUE;
     }
@@ -43,7 +43,7 @@ final class NotOperator extends PrefixOperator{
         if (childValue.type() != DataType.BOOLEAN)
             throw new RuntimeException("Can not invert a non-boolean value");
 
-        if ((boolean) childValue.value())
+        if (childValue.booleanValue())
             return Value.FALSE;
         return Value.TRUE;
     }
@@ -15,7 +15,6 @@
 
 package net.arkinsolomon.sakurainterpreter.parser;
 
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
@@ -25,6 +24,8 @@ import net.arkinsolomon.sakurainterpreter.lexer.Token;
  */
 final class NumberLiteral extends Literal {
 
+    private final Value value;
+
     /**
      * Create a new literal from a token.
      *
@@ -32,10 +33,11 @@ final class NumberLiteral extends Literal {
      */
     public NumberLiteral(Token token){
         super(token);
+        value = Value.ofNumber(Double.parseDouble((String) token.value()));
     }
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        return new Value(DataType.NUMBER, Double.parseDouble((String) token.value()), false);
+        return value;
     }
 }
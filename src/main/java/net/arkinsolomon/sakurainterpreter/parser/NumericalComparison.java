@@ -46,8 +46,8 @@ final class NumericalComparison extends Operator {
         if (lhs.type() != DataType.NUMBER || rhs.type() != DataType.NUMBER)
             throw new SakuraException(token, "The numerical operators (>, >=, <, <=) can only compare numbers.");
 
-        var leftValue = (double) lhs.value();
-        var rightValue = (double) rhs.value();
+        double leftValue = lhs.numberValue();
+        double rightValue = rhs.numberValue();
 
         boolean value = switch ((String) token.value()){
             case ">" -> leftValue > rightValue;
@@ -56,7 +56,7 @@ final class NumericalComparison extends Operator {
             case "<=" -> leftValue <= rightValue;
             default -> throw new IllegalStateException("Invalid value \"%s\" in numerical operator");
         };
-        return new Value(DataType.BOOLEAN, value, false);
+        return Value.ofBoolean(value);
     }
 
     @Override
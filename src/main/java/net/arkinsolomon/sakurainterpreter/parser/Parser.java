@@ -21,9 +21,8 @@ import java.util.Collections;
 import java.util.List;
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
 import net.arkinsolomon.sakurainterpreter.exceptions.UnexpectedTokenException;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ControlFlowRegister;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
-import net.arkinsolomon.sakurainterpreter.execution.ExecutionResult;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 import net.arkinsolomon.sakurainterpreter.lexer.TokenStorage;
@@ -38,7 +37,6 @@ public final class Parser {
     private final List<Node> expressions = new ArrayList<>();
     private final List<FunctionDefinition> functions = new ArrayList<>();
 
-    private boolean stop = false;
     private boolean registered;
 
     /**
@@ -77,17 +75,12 @@ public final class Parser {
     }
 
     /**
-     * Stop execution of this parser.
-     */
-    void stop() {
-        stop = true;
-    }
-
-    /**
-     * Continue execution of the parser.
+     * Get the top-level nodes created by parsing.
+     *
+     * @return The top-level nodes of the tree.
      */
-    void resume() {
-        stop = false;
+    List<Node> getExpressions() {
+        return expressions;
     }
 
     /**
@@ -163,12 +156,12 @@ public final class Parser {
                 case AND, OR -> new BinaryBooleanOperator(token);
                 case NOT -> new NotOperator(token);
                 case PLUS -> {
-                    if (tokenStorage.lastNonEOLToken() == null || tokenStorage.lastNonEOLToken().isOperator() || tokenStorage.lastNonEOLToken().isOfType(TokenType.FUNC_DEF, TokenType.IF_STATEMENT, TokenType.WHILE_LOOP, TokenType.FOR_LOOP, TokenType.RETURN))
+                    if (tokenStorage.lastNonEOLToken() == null || tokenStorage.lastNonEOLToken().isOperator() || tokenStorage.lastNonEOLToken().isOfType(TokenType.FUNC_DEF, TokenType.IF_STATEMENT, TokenType.WHILE_LOOP, TokenType.FOR_LOOP, TokenType.RETURN, TokenType.YIELD))
                         yield new PositiveOperator(token);
                     yield new AdditionOperator(token);
                 }
                 case MINUS -> {
-                    if (tokenStorage.lastNonEOLToken() == null || tokenStorage.lastNonEOLToken().isOperator() || tokenStorage.lastNonEOLToken().isOfType(TokenType.FUNC_DEF, TokenType.IF_STATEMENT, TokenType.WHILE_LOOP, TokenType.FOR_LOOP, TokenType.RETURN))
+                    if (tokenStorage.lastNonEOLToken() == null || tokenStorage.lastNonEOLToken().isOperator() || tokenStorage.lastNonEOLToken().isOfType(TokenType.FUNC_DEF, TokenType.IF_STATEMENT, TokenType.WHILE_LOOP, TokenType.FOR_LOOP, TokenType.RETURN, TokenType.YIELD))
                         yield new NegativeOperator(token);
                     yield new SubtractionOperator(token);
                 }
@@ -177,15 +170,16 @@ public final class Parser {
                 case VARIABLE -> new Variable(token);
                 case CONST_VAR -> new ConstVariable(token);
                 case ENV_VARIABLE -> new EnvVariable(token);
-                case IF_STATEMENT -> new IfStatement(token, this);
-                case WHILE_LOOP -> new WhileLoop(token, this);
-                case FOR_LOOP -> new ForLoop(token, this);
+                case IF_STATEMENT -> new IfStatement(token);
+                case WHILE_LOOP -> new WhileLoop(token);
+                case FOR_LOOP -> new ForLoop(token);
                 case RETURN -> new ReturnStatement(token);
+                case YIELD -> new YieldStatement(token);
                 case BREAK, CONTINUE -> new LoopControlExpression(token);
                 case SLASH -> new SlashOperator(token);
                 case FUNC_DEF -> new FunctionDefinition(token);
                 case FUNC_CALL -> new FunctionCall(token);
-                case BRACE -> new BraceExpression(token, this);
+                case BRACE -> new BraceExpression(token);
                 case PARENTHETICAL_EXPR -> new ParentheticalNode(token);
                 case NUM_LITERAL -> new NumberLiteral(token);
                 case SYMBOL -> new Symbol(token);
@@ -372,44 +366,29 @@ public final class Parser {
     }
 
     /**
-     * Execute every expression, return the value as the result.
+     * Execute every expression, stopping early if a return, break, or continue is signaled through the control flow register of the context.
      *
      * @param ctx The context in which to execute the expressions.
+     * @return The returned value if a return statement was executed, otherwise {@link Value#NULL}.
      */
-    public ExecutionResult execute(ExecutionContext ctx) {
+    public Value execute(ExecutionContext ctx) {
 
         // Register functions if we're executing the root context
-         boolean isRoot = ctx.getRootContext() == ctx;
+        boolean isRoot = ctx.getRootContext() == ctx;
         if (isRoot && !registered) {
             registered = true;
             for (FunctionDefinition function : functions)
                 function.register(ctx);
         }
 
+        ControlFlowRegister controlFlow = ctx.getControlFlow();
         for (Node expression : expressions) {
-            // expression.print();
-            @Var ExecutionResult braceReturnResult = null;
-            @Var Value value = expression.evaluate(ctx);
-            if (value != null && value.type() == DataType.__BRACE_RETURN) {
-                braceReturnResult = (ExecutionResult) value.value();
-                value = braceReturnResult.returnValue();
-            }
-
-            // If the expression was a brace we want to handle it differently
-            if ((expression instanceof Expression && stop) || expression instanceof ReturnStatement || expression instanceof LoopControlExpression) {
-                @Var EarlyReturnType type = EarlyReturnType.RETURN;
-
-                if (braceReturnResult != null && braceReturnResult.returner() != null) {
-                    TokenType returnerType = braceReturnResult.returner().type();
-                    if (returnerType == TokenType.BREAK || returnerType == TokenType.CONTINUE)
-                        type = returnerType == TokenType.BREAK ? EarlyReturnType.BREAK : EarlyReturnType.CONTINUE;
-                }
-
-                return new ExecutionResult(type, value, expression.getToken());
-            }
+            expression.evaluate(ctx);
+            if (controlFlow.isSet())
+                return controlFlow.getReturnValue();
         }
 
-        return new ExecutionResult(EarlyReturnType.NONE, Value.NULL, null);
+        return Value.NULL;
     }
 
     /**
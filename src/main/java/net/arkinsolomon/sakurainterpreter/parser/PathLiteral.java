@@ -16,7 +16,6 @@
 package net.arkinsolomon.sakurainterpreter.parser;
 
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 
@@ -25,6 +24,8 @@ import net.arkinsolomon.sakurainterpreter.execution.Value;
  */
 final class PathLiteral extends Literal {
 
+    private final Value value;
+
     /**
      * Create a path literal node from a path literal token.
      *
@@ -32,10 +33,11 @@ final class PathLiteral extends Literal {
      */
     public PathLiteral(Token token) {
         super(token);
+        value = Value.ofString((String) token.value());
     }
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        return new Value(DataType.STRING, token.value(), false);
+        return value;
     }
 }
@@ -86,7 +86,7 @@ final class PathNode extends Node {
             throw new SakuraException(token, "Path can not be empty.");
 
         // Ensure that the path is normalized which gets rid of the '..'s and '.'s
-        return new Value(DataType.PATH, path.toPath().normalize().toFile(), false);
+        return new Value(DataType.PATH, path.toPath().normalize().toFile());
     }
 
     @Override
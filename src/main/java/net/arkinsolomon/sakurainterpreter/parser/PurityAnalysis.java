@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.parser;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.arkinsolomon.sakurainterpreter.execution.DataType;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.functions.AppendFunction;
+import net.arkinsolomon.sakurainterpreter.functions.Function;
+import net.arkinsolomon.sakurainterpreter.functions.KeysFunction;
+import net.arkinsolomon.sakurainterpreter.functions.ListFunction;
+import net.arkinsolomon.sakurainterpreter.functions.RangeFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SliceFunction;
+import net.arkinsolomon.sakurainterpreter.functions.SplitFunction;
+import net.arkinsolomon.sakurainterpreter.functions.StrFunction;
+import net.arkinsolomon.sakurainterpreter.lexer.FunctionArgData;
+
+/**
+ * Determine if a function definition is pure. A function is pure if it uses no file commands, calls only pure functions, and reads only its own arguments, local variables, and constants. The analysis is conservative, anything it does not recognize is considered impure.
+ */
+final class PurityAnalysis {
+
+    /**
+     * Built-in functions which never return a path, so looping over their result can not read a directory.
+     */
+    private static final Set<Class<? extends Function>> NON_PATH_BUILT_INS = Set.of(RangeFunction.class, SplitFunction.class, KeysFunction.class, ListFunction.class, SliceFunction.class, AppendFunction.class, StrFunction.class);
+
+    private final FunctionDefinition function;
+    private final ExecutionContext rootCtx;
+    private final Set<String> locals = new HashSet<>();
+
+    /**
+     * Create a new analysis of a function.
+     *
+     * @param function The function to analyze.
+     * @param rootCtx  The context the function is registered in, used to resolve globals.
+     */
+    PurityAnalysis(FunctionDefinition function, ExecutionContext rootCtx) {
+        this.function = function;
+        this.rootCtx = rootCtx;
+    }
+
+    /**
+     * Run the analysis.
+     *
+     * @return True if the function is pure.
+     */
+    boolean isPure() {
+        for (FunctionArgData arg : function.getArgs())
+            locals.add(arg.identifier());
+        collectLocals(function.getBody());
+
+        // A local which shares its name with a mutable global may refer to the global before it is declared
+        for (String local : locals) {
+            if (rootCtx.hasIdentifier(local) && rootCtx.isIdentifierMutable(local))
+                return false;
+        }
+
+        return isPure(function.getDefaultArgExpressions()) && isPure(function.getBody());
+    }
+
+    /**
+     * Collect the identifiers of every variable declared within the nodes.
+     *
+     * @param nodes The nodes to search.
+     */
+    private void collectLocals(List<Node> nodes) {
+        for (Node node : nodes) {
+            if (node == null)
+                continue;
+
+            if (node instanceof Variable)
+                locals.add(((Variable) node).identifier);
+            else if (node instanceof ForLoop)
+                locals.add(((ForLoop) node).getIdentifier());
+            else if (node instanceof IfStatement)
+                collectLocals(((IfStatement) node).getConditions());
+            collectLocals(Arrays.asList(node.children));
+        }
+    }
+
+    /**
+     * Check if every node is pure.
+     *
+     * @param nodes The nodes to check.
+     * @return True if every node, and all of their children, are pure.
+     */
+    private boolean isPure(List<Node> nodes) {
+        for (Node node : nodes) {
+            if (node != null && !isPure(node))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check if a single node, and all of its children, are pure.
+     *
+     * @param node The node to check.
+     * @return True if the node is pure.
+     */
+    private boolean isPure(Node node) {
+        if (node instanceof Symbol)
+            return isPureSymbol(((Symbol) node).getIdentifier());
+        else if (node instanceof FunctionCall)
+            return isPureCall(((FunctionCall) node).identifier) && isPure(Arrays.asList(node.children));
+        else if (node instanceof IfStatement)
+            return isPure(((IfStatement) node).getConditions()) && isPure(Arrays.asList(node.children));
+        else if (node instanceof ForLoop) {
+
+            // Loops over paths read directories, so only allow iterables which can not be paths
+            Node iterable = node.getChild(0);
+            boolean isPureIterable = iterable instanceof StringLiteral || (iterable instanceof FunctionCall && isNonPathBuiltIn(((FunctionCall) iterable).identifier));
+            return isPureIterable && isPure(Arrays.asList(node.children));
+        }
+
+        boolean isAllowed = node instanceof Literal || node instanceof Operator || node instanceof PrefixOperator || node instanceof Variable || node instanceof EnvVariable || node instanceof ParentheticalNode || node instanceof PathNode || node instanceof BraceExpression || node instanceof WhileLoop || node instanceof ReturnStatement || node instanceof LoopControlExpression || node instanceof NoOpExpression;
+        return isAllowed && isPure(Arrays.asList(node.children));
+    }
+
+    /**
+     * Check if reading or writing a symbol is pure.
+     *
+     * @param identifier The identifier of the symbol.
+     * @return True if the symbol is a local variable, argument, or a global constant.
+     */
+    private boolean isPureSymbol(String identifier) {
+        if (locals.contains(identifier))
+            return true;
+        return rootCtx.hasIdentifier(identifier) && !rootCtx.isIdentifierMutable(identifier) && rootCtx.getIdentifier(identifier).type() != DataType.FUNCTION;
+    }
+
+    /**
+     * Check if calling a function is pure.
+     *
+     * @param identifier The identifier of the function.
+     * @return True if the identifier refers to a pure function.
+     */
+    private boolean isPureCall(String identifier) {
+        Function callee = resolveFunction(identifier);
+        return callee == function || (callee != null && callee.isPure());
+    }
+
+    /**
+     * Check if an identifier refers to a pure built-in function which never returns a path.
+     *
+     * @param identifier The identifier of the function.
+     * @return True if the identifier refers to a pure built-in function which never returns a path.
+     */
+    private boolean isNonPathBuiltIn(String identifier) {
+        Function callee = resolveFunction(identifier);
+        return callee != null && NON_PATH_BUILT_INS.contains(callee.getClass()) && callee.isPure();
+    }
+
+    /**
+     * Find the function that an identifier refers to.
+     *
+     * @param identifier The identifier of the function.
+     * @return The function, or null if the identifier may not refer to a function.
+     */
+    private Function resolveFunction(String identifier) {
+        if (locals.contains(identifier) || !rootCtx.hasIdentifier(identifier) || rootCtx.isIdentifierMutable(identifier))
+            return null;
+
+        Value value = rootCtx.getIdentifier(identifier);
+        return value.type() == DataType.FUNCTION ? (Function) value.value() : null;
+    }
+}
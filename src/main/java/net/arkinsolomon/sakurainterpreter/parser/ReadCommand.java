@@ -18,7 +18,6 @@ package net.arkinsolomon.sakurainterpreter.parser;
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 import net.arkinsolomon.sakurainterpreter.operations.Operation;
-import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import org.apache.commons.io.FileUtils;
@@ -48,7 +47,7 @@ final class ReadCommand extends SinglePathCommand {
 
         try {
             String fileContents = FileUtils.readFileToString(fileToRead, "utf-8");
-            return new Value(DataType.STRING, fileContents, false);
+            return Value.ofString(fileContents);
         }catch (SakuraException e) {
             throw e.setPosition(token);
         } catch (Throwable e) {
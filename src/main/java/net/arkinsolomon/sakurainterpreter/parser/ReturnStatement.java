@@ -16,6 +16,7 @@
 package net.arkinsolomon.sakurainterpreter.parser;
 
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.TailCall;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 
@@ -24,6 +25,8 @@ import net.arkinsolomon.sakurainterpreter.lexer.Token;
  */
 final class ReturnStatement extends Node {
 
+    private boolean isTailCall = false;
+
     /**
      * Create a return statement from a token.
      *
@@ -35,10 +38,24 @@ final class ReturnStatement extends Node {
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        if (getChild(0) == null)
-            return Value.NULL;
+        if (isTailCall) {
+            TailCall tailCall = ((FunctionCall) getChild(0)).prepareTailCall(ctx);
+            if (tailCall != null) {
+                ctx.getControlFlow().setTailCall(tailCall);
+                return Value.NULL;
+            }
+        }
+
+        Value returnValue = getChild(0) == null ? Value.NULL : getChild(0).evaluate(ctx);
+        ctx.getControlFlow().setReturn(returnValue);
+        return returnValue;
+    }
 
-        return getChild(0).evaluate(ctx).setMutability(false);
+    /**
+     * Mark this statement as being within a function body, so that a returned function call is executed by the function after it returns, instead of on top of it.
+     */
+    void markTailCall() {
+        isTailCall = getChild(0) instanceof FunctionCall;
     }
 
     @Override
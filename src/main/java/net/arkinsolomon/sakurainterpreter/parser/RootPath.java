@@ -36,6 +36,6 @@ final class RootPath extends Literal{
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
-        return new Value(DataType.PATH, ctx.getRootPath(), false);
+        return new Value(DataType.PATH, ctx.getRootPath());
     }
 }
@@ -39,8 +39,8 @@ final class SlashOperator extends Operator {
         Value rightVal = rightChild().evaluate(ctx);
 
         if (leftVal.type() == DataType.NUMBER && rightVal.type() == DataType.NUMBER) {
-            double val = ((double) leftVal.value()) / ((double) rightVal.value());
-            return new Value(DataType.NUMBER, val, false);
+            double val = leftVal.numberValue() / rightVal.numberValue();
+            return Value.ofNumber(val);
         }
 
         throw new SakuraException(token, "Invalid operands for \"/\" operator. Adding \"%s\" of type \"%s\" to \"%s\" of type \"%s\". If you meant to create a path, make sure you prefix it with \"PATH\".".formatted(leftVal.toString(), leftVal.type(), rightVal.toString(), rightVal.type()));
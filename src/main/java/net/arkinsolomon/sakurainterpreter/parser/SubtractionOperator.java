@@ -45,9 +45,9 @@ final class SubtractionOperator extends Operator {
         if (leftValue.type() != DataType.NUMBER || rightValue.type() != DataType.NUMBER)
             throw new RuntimeException("Invalid operand types for subtraction operator");
 
-        var lhs = (double) leftValue.value();
-        var rhs = (double) rightValue.value();
-        return new Value(DataType.NUMBER, lhs - rhs, false);
+        double lhs = leftValue.numberValue();
+        double rhs = rightValue.numberValue();
+        return Value.ofNumber(lhs - rhs);
     }
 
     @Override
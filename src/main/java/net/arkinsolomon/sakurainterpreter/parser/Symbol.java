@@ -35,13 +35,22 @@ final class Symbol extends Node {
         identifier = (String) token.value();
     }
 
+    /**
+     * Get the identifier this symbol refers to.
+     *
+     * @return The identifier this symbol refers to.
+     */
+    String getIdentifier() {
+        return identifier;
+    }
+
     @Override
     public void assign(ExecutionContext ctx, Value val) {
         boolean hasId = ctx.hasIdentifier(identifier);
 
         if (!hasId)
             throw new SakuraException(token, "Identifier \"%s\"not found, did you declare it?".formatted(identifier));
-       else if (!ctx.getIdentifier(identifier).isMutable())
+       else if (!ctx.isIdentifierMutable(identifier))
             throw new SakuraException(token, "Can not assign to immutable variable \"%s\".".formatted(identifier));
         ctx.modifyIdentifier(identifier, val);
     }
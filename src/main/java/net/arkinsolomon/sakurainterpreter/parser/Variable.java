@@ -50,6 +50,6 @@ class Variable extends Node {
     public void assign(ExecutionContext ctx, Value val) {
         if (ctx.hasLocalIdentifier(identifier))
             throw new SakuraException(token.line(), token.column(), "Identifier \"%s\" already exists.".formatted(identifier));
-        ctx.defineIdentifier(identifier, val.setMutability(true));
+        ctx.defineIdentifier(identifier, val, true);
     }
 }
@@ -15,9 +15,10 @@
 
 package net.arkinsolomon.sakurainterpreter.parser;
 
+import com.google.errorprone.annotations.Var;
+import net.arkinsolomon.sakurainterpreter.execution.ControlFlowRegister;
 import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
-import net.arkinsolomon.sakurainterpreter.execution.ExecutionResult;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.lexer.Token;
 import net.arkinsolomon.sakurainterpreter.lexer.TokenStorage;
@@ -30,19 +31,17 @@ import java.util.List;
 /**
  * An expression for a while loop.
  */
-final class WhileLoop extends Expression{
+final class WhileLoop extends Expression implements TieredNode {
 
-    private final Parser parent;
+    private final HotnessCounter backEdges = new HotnessCounter();
 
     /**
      * Create a new while loop from a token.
      *
      * @param token The token to create the if statement from.
-     * @param parent The parser that created this expression.
      */
-    public WhileLoop(Token token, Parser parent) {
+    public WhileLoop(Token token) {
         super(token, 2);
-        this.parent = parent;
 
         var data = (WhileData) token.value();
 
@@ -66,7 +65,7 @@ final class WhileLoop extends Expression{
         var branchTokenStorage = new TokenStorage(bodyList);
         List<Node> bodyNodes = new Parser(branchTokenStorage).parse();
 
-        if (bodyNodes.size() != 1)
+        if (bodyNodes.size() != 1 || !(bodyNodes.get(0) instanceof BraceExpression))
             throw new RuntimeException("The body of a while loop must be wrapped in braces");
 
         setChild(1, bodyNodes.get(0));
@@ -74,24 +73,43 @@ final class WhileLoop extends Expression{
 
     @Override
     public Value evaluate(ExecutionContext ctx) {
+        ControlFlowRegister controlFlow = ctx.getControlFlow();
+        @Var ExecutionContext scope = null;
         while (evalCondition(ctx)) {
-            var tempCtx = new ExecutionContext(ctx);
-
-            Value braceReturn = getChild(1).evaluate(tempCtx);
-            var result = (ExecutionResult) braceReturn.value();
-            if (result.earlyReturnType() != EarlyReturnType.NONE){
-                if (result.earlyReturnType() == EarlyReturnType.CONTINUE)
-                    continue;
-                else if (result.earlyReturnType() == EarlyReturnType.BREAK)
-                    return Value.NULL;
+
+            // Checked every iteration so that a long-running loop switches tiers mid-execution
+            if (backEdges.isHot()) {
+                if (scope == null)
+                    scope = new ExecutionContext(ctx);
                 else
-                    parent.stop();
-                    return braceReturn;
+                    scope.clearLocalIdentifiers();
+                ((BraceExpression) getChild(1)).evaluateInScope(scope);
+            } else {
+                var tempCtx = new ExecutionContext(ctx);
+                getChild(1).evaluate(tempCtx);
+                backEdges.record(ctx.getExecutionConfig().getLoopTierThreshold());
+            }
+
+            if (controlFlow.isSet()) {
+                EarlyReturnType state = controlFlow.getState();
+
+                // Leave returns in the register so that they propagate to the enclosing function
+                if (state == EarlyReturnType.RETURN)
+                    return Value.NULL;
+
+                controlFlow.clear();
+                if (state == EarlyReturnType.BREAK)
+                    return Value.NULL;
             }
         }
         return Value.NULL;
     }
 
+    @Override
+    public void promote() {
+        backEdges.markHot();
+    }
+
     /**
      * Compute the value of the while loop condition. {@link RuntimeException} is thrown if the condition evaluation is not a boolean.
      *
@@ -101,6 +119,6 @@ final class WhileLoop extends Expression{
         Value result = getChild(0).evaluate(ctx);
         if (result.type() != DataType.BOOLEAN)
             throw new RuntimeException("While loop condition must be a boolean");
-        return (boolean) result.value();
+        return result.booleanValue();
     }
 }
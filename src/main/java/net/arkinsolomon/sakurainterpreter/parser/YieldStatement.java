@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Arkin Solomon.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied limitations under the License.
+ */
+
+package net.arkinsolomon.sakurainterpreter.parser;
+
+import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
+import net.arkinsolomon.sakurainterpreter.execution.ExecutionContext;
+import net.arkinsolomon.sakurainterpreter.execution.Value;
+import net.arkinsolomon.sakurainterpreter.lexer.Token;
+
+/**
+ * A yield statement, which hands a value to whatever is iterating over the enclosing generator, and suspends the
+ * generator until the next value is requested.
+ */
+final class YieldStatement extends Node {
+
+    /**
+     * Create a yield statement from a token.
+     *
+     * @param token The yield token.
+     */
+    public YieldStatement(Token token) {
+        super(token, 1);
+    }
+
+    @Override
+    public Value evaluate(ExecutionContext ctx) {
+        Value value = getChild(0) == null ? Value.NULL : getChild(0).evaluate(ctx);
+        if (!GeneratorIterable.yieldValue(value))
+            throw new SakuraException(token, "Values can only be yielded from within a function.");
+        return Value.NULL;
+    }
+
+    @Override
+    public void assign(ExecutionContext ctx, Value val) {
+        throw new UnsupportedOperationException("Can not assign to yield statement");
+    }
+
+    @Override
+    public int getPrecedence() {
+        return Precedences.RETURN;
+    }
+
+    @Override
+    public boolean canBeChild() {
+        return false;
+    }
+}
@@ -19,6 +19,7 @@ import net.arkinsolomon.sakurainterpreter.exceptions.ExitException;
 import net.arkinsolomon.sakurainterpreter.exceptions.SakuraException;
 import net.arkinsolomon.sakurainterpreter.execution.DataType;
 import net.arkinsolomon.sakurainterpreter.execution.Iterable;
+import net.arkinsolomon.sakurainterpreter.execution.ListIterable;
 import net.arkinsolomon.sakurainterpreter.execution.Value;
 import net.arkinsolomon.sakurainterpreter.operations.Operation;
 import org.junit.jupiter.api.Test;
@@ -27,8 +28,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -63,6 +66,11 @@ public final class InterpreterTests extends SakuraTestBase {
         assertReturnValue("test-range-sum.ska", 1225);
     }
 
+    @Test
+    void testTieredLoops() {
+        assertReturnValue("test-tiered-loops.ska", 6247102);
+    }
+
     @Test
     void testPathParsing() throws IOException {
         Path path = getResource("test-path-parsing.ska");
@@ -235,6 +243,287 @@ public final class InterpreterTests extends SakuraTestBase {
         assertReturnValue("test-for-loop-return.ska", 5d);
     }
 
+    @Test
+    void testConstLoopVar() {
+        Path path = getResource("test-const-loop-var.ska");
+        SakuraException thrown = assertThrows(SakuraException.class, () -> interpreter.executeFile(path));
+        assertTrue(thrown.getMessageText().startsWith("Can not assign to immutable variable"));
+    }
+
+    @Test
+    void testIterateTwice() {
+        assertReturnValue("test-iterate-twice.ska", 18);
+    }
+
+    @Test
+    void testTailCalls() {
+        assertReturnValue("test-tail-calls.ska", 5000050000d);
+        assertEquals(100000, interpreter.getStatistics().getEliminatedTailCalls());
+    }
+
+    @Test
+    void testDeepRecursion() throws IOException {
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setStackSize(512L * 1024 * 1024);
+        var deepInterpreter = new SakuraInterpreter(options);
+
+        Value retVal = deepInterpreter.executeFile(getResource("test-deep-recursion.ska"));
+        assertEquals(200010000d, retVal.value());
+        assertEquals(20001, deepInterpreter.getStatistics().getMaxCallDepth());
+    }
+
+    @Test
+    void testMaxCallDepth() {
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setMaxCallDepth(100);
+        var limitedInterpreter = new SakuraInterpreter(options);
+
+        Path path = getResource("test-deep-recursion.ska");
+        SakuraException thrown = assertThrows(SakuraException.class, () -> limitedInterpreter.executeFile(path));
+        assertTrue(thrown.getMessageText().startsWith("Maximum call depth of 100 exceeded"));
+        assertEquals(100, thrown.getCallstack().length);
+    }
+
+    @Test
+    void testMemoization() throws IOException {
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setMemoization(true);
+        var memoPrinter = new TestPrintFunction();
+        options.defineFunc("print", memoPrinter);
+        var memoInterpreter = new SakuraInterpreter(options);
+
+        Value retVal = memoInterpreter.executeFile(getResource("test-memoization.ska"));
+        assertEquals(832040d, retVal.value());
+        assertEquals("computing\nitem 1\ncomputing\nitem 1\n", memoPrinter.getOutput());
+        assertEquals(31, memoInterpreter.getStatistics().getMemoMisses());
+        assertEquals(28, memoInterpreter.getStatistics().getMemoHits());
+    }
+
+    @Test
+    void testMemoizedDirectoryLoop() throws IOException {
+        SakuraInterpreter memoInterpreter = createMemoizingInterpreter();
+        assertEquals("0 1", memoInterpreter.executeFile(getResource("test-memo-directory-loop.ska")).value());
+        assertEquals(0, memoInterpreter.getStatistics().getMemoHits());
+    }
+
+    /**
+     * Create an interpreter with memoization enabled, which can read and write within the test root.
+     *
+     * @return The new interpreter.
+     */
+    private static SakuraInterpreter createMemoizingInterpreter() {
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setMemoization(true);
+        options.setRoot(testRoot);
+        options.allowRead(testRoot);
+        options.allowWrite(testRoot);
+        return new SakuraInterpreter(options);
+    }
+
+    @Test
+    void testCallArgs() {
+        assertReturnValue("test-call-args.ska", "Hello Ann, Hi Bob, 02, 1");
+    }
+
+    @Test
+    void testCallSiteCache() {
+        assertReturnValue("test-call-site-cache.ska", "0125number");
+    }
+
+    @Test
+    void testRangeLoopArgumentError() {
+        Path path = getResource("test-range-loop-error.ska");
+        SakuraException thrown = assertThrows(SakuraException.class, () -> interpreter.executeFile(path));
+        assertEquals(List.of("[5:17] fail"), List.of(thrown.getCallstack()));
+    }
+
+    @Test
+    void testShadowedFunctionCache() {
+        assertReturnValue("test-shadowed-function-cache.ska", "AB");
+    }
+
+    @Test
+    void testShortCircuit() throws IOException {
+        assertReturnValue("test-short-circuit.ska", 4);
+
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setShortCircuit(true);
+        var shortCircuitInterpreter = new SakuraInterpreter(options);
+
+        Value retVal = shortCircuitInterpreter.executeFile(getResource("test-short-circuit.ska"));
+        assertEquals(2d, retVal.value());
+    }
+
+    @Test
+    void testStringConcat() {
+        var lines = new StringBuilder();
+        for (int i = 0; i < 10000; i++)
+            lines.append("line ").append(i).append("\n");
+
+        assertReturnValue("test-string-concat.ska", lines + "second" + lines + "first");
+    }
+
+    @Test
+    void testFormatFunc() {
+        assertReturnValue("test-format-func.ska", "World #1, {1}; World #2, {2}; World #3, {3}; b before a");
+    }
+
+    @Test
+    void testJson() throws IOException {
+        assertReturnValue("test-json.ska", "photos \"2023\" 24.5 true 2 4");
+
+        String content = Files.readString(new File(testRoot, "data.json").toPath());
+        assertEquals("{\"name\":\"photos \\\"2023\\\"\",\"sizes\":[3,1.5,20],\"tags\":[\"a\",true,null],\"nested\":{\"depth\":2}}", content);
+    }
+
+    @Test
+    void testRegex() throws IOException {
+        assertReturnValue("test-regex.ska", "notes.txt;todo.TXT;readme.txt; true 12.4.1 NULL second-first fourth-third");
+
+        // The literal in the loop is compiled once, and the two equal dynamic patterns share a compiled pattern
+        assertEquals(5, interpreter.getStatistics().getPatternCacheMisses());
+        assertEquals(5, interpreter.getStatistics().getPatternCacheHits());
+    }
+
+    @Test
+    void testShadowedBuiltIns() {
+        assertReturnValue("test-shadowed-builtins.ska", 27);
+    }
+
+    @Test
+    void testSort() throws IOException {
+        String expected = "-1 0 2.5 3 10 | apple banana fig kiwi pear | fig pear kiwi apple banana | 4 3 2 1 0 | a b c ";
+        assertReturnValue("test-sort.ska", expected);
+
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setParallelThreshold(2);
+        var parallelInterpreter = new SakuraInterpreter(options);
+        assertEquals(expected, parallelInterpreter.executeFile(getResource("test-sort.ska")).value());
+    }
+
+    @Test
+    void testMemoizedAggregateOfDirectory() {
+        SakuraInterpreter memoInterpreter = createMemoizingInterpreter();
+        SakuraException thrown = assertThrows(SakuraException.class, () -> memoInterpreter.executeFile(getResource("test-memo-aggregate-directory.ska")));
+        assertTrue(thrown.getMessageText().contains("can only be used with numbers"));
+        assertEquals(0, memoInterpreter.getStatistics().getMemoHits());
+    }
+
+    @Test
+    void testMemoizedSortOfDirectory() throws IOException {
+        SakuraInterpreter memoInterpreter = createMemoizingInterpreter();
+        assertEquals("1 2", memoInterpreter.executeFile(getResource("test-memo-sort-directory.ska")).value());
+        assertEquals(0, memoInterpreter.getStatistics().getMemoHits());
+    }
+
+    @Test
+    void testAggregates() throws IOException {
+        String expected = "50005000 18 10.5 19 -2.5 9 5 17 NULL 5 3 3 true false true true";
+        assertReturnValue("test-aggregates.ska", expected);
+
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setParallelThreshold(2);
+        var parallelInterpreter = new SakuraInterpreter(options);
+        assertEquals(expected, parallelInterpreter.executeFile(getResource("test-aggregates.ska")).value());
+
+        options.setOffHeapListThreshold(2);
+        var offHeapInterpreter = new SakuraInterpreter(options);
+        assertEquals(expected, offHeapInterpreter.executeFile(getResource("test-aggregates.ska")).value());
+    }
+
+    @Test
+    void testGenerators() {
+        assertReturnValue("test-generators.ska", "321321,0,2,4,6,8,10,12;1;2;3;4");
+    }
+
+    @Test
+    void testGeneratorEarlyExit() throws InterruptedException {
+        assertReturnValue("test-generator-early-exit.ska", 1500);
+
+        // Closed generators are interrupted right away, so their threads finish without waiting for garbage collection
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countGeneratorThreads() > 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(0, countGeneratorThreads());
+    }
+
+    /**
+     * Count the threads which are running the body of a generator.
+     *
+     * @return The number of live generator threads.
+     */
+    private static long countGeneratorThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(t -> t.isAlive() && t.getName().equals("sakura-generator")).count();
+    }
+
+    @Test
+    void testLazyIterables() {
+        assertReturnValue("test-lazy-iterables.ska", "0,4,9,0;4;9;a0xb1yc2z");
+    }
+
+    @Test
+    void testRangeLoop() {
+        assertReturnValue("test-range-loop.ska", "2600 21 100");
+    }
+
+    @Test
+    void testNumericLists() throws IOException {
+        var options = new InterpreterOptions("arkinsolomon.java.tester");
+        options.setOffHeapListThreshold(1024);
+        var offHeapInterpreter = new SakuraInterpreter(options);
+
+        for (SakuraInterpreter i : List.of(interpreter, offHeapInterpreter)) {
+            var lists = (ListIterable) i.executeFile(getResource("test-numeric-lists.ska")).value();
+            var series = (ListIterable) lists.get(0).value();
+            var fork = (ListIterable) lists.get(1).value();
+            var boxed = (ListIterable) lists.get(2).value();
+
+            assertTrue(series.isNumeric());
+            assertEquals(i == offHeapInterpreter, series.isOffHeap());
+            assertEquals(5000, series.size());
+            assertEquals(2499.5, series.numberAt(4999));
+            assertEquals(50d, series.numberAt(100));
+
+            assertTrue(fork.isNumeric());
+            assertEquals(101, fork.size());
+            assertEquals(-1d, fork.numberAt(100));
+
+            assertFalse(boxed.isNumeric());
+            assertEquals("boxed", boxed.get(101).value());
+            assertEquals(49.5, boxed.get(99).value());
+        }
+    }
+
+    @Test
+    void testPersistentCollections() {
+        assertReturnValue("test-persistent-collections.ska", "1999000 1000 1500 1035 1522756 2000 true");
+    }
+
+    @Test
+    void testMapFuncs() {
+        assertReturnValue("test-map-funcs.ska", "a3b2c1 3 false true map true");
+    }
+
+    @Test
+    void testListFuncs() {
+        assertReturnValue("test-list-funcs.ska", "6 5 7 345 5");
+    }
+
+    @Test
+    void testStringFuncs() {
+        assertReturnValue("test-string-funcs.ska", "[alpha][beta][][gamma] beta alpha;beta;;gamma 17 true 4");
+    }
+
+    @Test
+    void testWhileLoopControl() {
+        assertReturnValue("test-while-loop-control.ska", 48);
+    }
+
+    @Test
+    void testStringChars() {
+        assertReturnValue("test-string-chars.ska", "b€a");
+    }
+
     @Test
     void testReturnPosPrefix() {
         assertReturnValue("test-return-pos-prefix.ska", 4);